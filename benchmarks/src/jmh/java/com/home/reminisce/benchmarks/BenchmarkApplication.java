@@ -0,0 +1,57 @@
+package com.home.reminisce.benchmarks;
+
+import com.home.reminisce.ReminisceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the full application for service-level benchmarks. Without a
+ * -Dspring.datasource.url it runs against a fresh in-memory H2 database with the schema
+ * generated from the entities.
+ */
+final class BenchmarkApplication {
+
+    static final String USER = "user@example.com";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=benchmark",
+                "--spring.cloud.gcp.sql.enabled=false",
+                "--spring.cloud.gcp.core.enabled=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (System.getProperty("spring.datasource.url") == null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop"));
+        }
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReminisceApplication.class)
+                .run(args.toArray(String[]::new));
+        // benchmark threads are not the setup thread, so the principal is shared by all of them
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                USER, null, List.of(new SimpleGrantedAuthority("USER"))));
+        return context;
+    }
+
+    static void stop(ConfigurableApplicationContext context) {
+        context.close();
+        SecurityContextHolder.clearContext();
+    }
+}
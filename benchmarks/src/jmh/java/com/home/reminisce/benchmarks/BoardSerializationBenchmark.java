@@ -0,0 +1,110 @@
+package com.home.reminisce.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.home.reminisce.api.model.BoardComment;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a retro board: the Session entity with its comments (each carrying
+ * a list of reactions, as loaded from the database) and the BoardSnapshot returned by the API.
+ * The mapper is configured like the one Spring Boot provides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int comments;
+
+    @Param({"10"})
+    private int reactionsPerComment;
+
+    private ObjectMapper objectMapper;
+
+    private Session session;
+
+    private BoardSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Instant start = Instant.parse("2023-10-20T10:00:00Z");
+        List<Comment> sessionComments = new ArrayList<>();
+        List<BoardComment> boardComments = new ArrayList<>();
+        for (int c = 0; c < comments; c++) {
+            long commentId = c + 1;
+            List<Reaction> reactions = new ArrayList<>();
+            long likes = 0;
+            for (int r = 0; r < reactionsPerComment; r++) {
+                ReactionType type = r % 3 == 0 ? ReactionType.DISLIKE : ReactionType.LIKE;
+                likes += type == ReactionType.LIKE ? 1 : 0;
+                reactions.add(Reaction.builder()
+                        .id(commentId * 100 + r)
+                        .commentId(commentId)
+                        .authoredBy("participant" + r + "@example.com")
+                        .createdOn(start.plusSeconds(c * 60L + r))
+                        .reactionType(type)
+                        .build());
+            }
+            Comment comment = Comment.builder()
+                    .id(commentId)
+                    .sessionId(1L)
+                    .authoredBy("participant" + (c % 12) + "@example.com")
+                    .createdOn(start.plusSeconds(c * 60L))
+                    .text("Comment " + c + ": the deployment pipeline was slow again during the release week")
+                    .categoryId(c % 3 + 1)
+                    .likeCount(likes)
+                    .dislikeCount(reactionsPerComment - likes)
+                    .reactions(reactions)
+                    .build();
+            sessionComments.add(comment);
+            boardComments.add(new BoardComment(comment.getId(), comment.getSessionId(), comment.getAuthoredBy(),
+                    comment.getCreatedOn(), comment.getText(), comment.getCategoryId(), comment.getLikeCount(),
+                    comment.getDislikeCount(), c % 2 == 0 ? ReactionType.LIKE : null));
+        }
+        session = Session.builder()
+                .id(1L)
+                .name("Sprint 42 retro")
+                .createdBy("user@example.com")
+                .createdOn(start)
+                .status(SessionStatus.IN_PROGRESS)
+                .comments(sessionComments)
+                .build();
+        snapshot = BoardSnapshot.of(session, boardComments);
+    }
+
+    @Benchmark
+    public byte[] serializeSessionEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(session);
+    }
+
+    @Benchmark
+    public byte[] serializeBoardSnapshot() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+}
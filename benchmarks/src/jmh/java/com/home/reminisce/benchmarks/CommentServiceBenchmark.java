@@ -0,0 +1,97 @@
+package com.home.reminisce.benchmarks;
+
+import com.home.reminisce.api.model.BoardComment;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.CommentRequest;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.SessionRequest;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.service.CommentService;
+import com.home.reminisce.service.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board reads and comment writes through the services, with the repositories, membership index,
+ * dashboard maintenance and websocket publishing of the running application. Writes to one board
+ * share the board's change counter; run them with several threads ({@code -t}) against PostgreSQL
+ * and compare with writes spread over a board per thread to see what the counter costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommentServiceBenchmark {
+
+    @Param({"50", "500"})
+    private int boardSize;
+
+    private ConfigurableApplicationContext context;
+
+    private SessionService sessionService;
+
+    private CommentService commentService;
+
+    private long boardId;
+
+    private long writeSessionId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        sessionService = context.getBean(SessionService.class);
+        commentService = context.getBean(CommentService.class);
+        boardId = sessionService.createSession(new SessionRequest("Read benchmark")).getId();
+        for (int i = 0; i < boardSize; i++) {
+            commentService.createComment(new CommentRequest(boardId, "Comment " + i, i % 3 + 1));
+        }
+        // writes go to their own board so that the read benchmarks keep a fixed size
+        writeSessionId = sessionService.createSession(new SessionRequest("Write benchmark")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop(context);
+    }
+
+    @Benchmark
+    public BoardSnapshot getBoard() {
+        return sessionService.getBoard(boardId);
+    }
+
+    @Benchmark
+    public CursorPage<BoardComment> getFirstCommentsPage() {
+        return commentService.getCommentsPage(boardId, null, 50);
+    }
+
+    @Benchmark
+    public Comment createComment() {
+        return commentService.createComment(new CommentRequest(writeSessionId, "Went well: pairing on the migration", 1));
+    }
+
+    @Benchmark
+    public Comment createCommentOnOwnBoard(OwnBoard ownBoard) {
+        return commentService.createComment(new CommentRequest(ownBoard.sessionId, "Went well: pairing on the migration", 1));
+    }
+
+    @State(Scope.Thread)
+    public static class OwnBoard {
+
+        private long sessionId;
+
+        @Setup(Level.Trial)
+        public void setup(CommentServiceBenchmark benchmark) {
+            sessionId = benchmark.sessionService.createSession(new SessionRequest("Own write benchmark")).getId();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.home.reminisce.benchmarks;
+
+import com.home.reminisce.config.JwtAuthenticationFilter;
+import com.home.reminisce.config.TokenPrincipalLoader;
+import com.home.reminisce.security.Role;
+import com.home.reminisce.security.User;
+import com.home.reminisce.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through the JWT filter, from the Authorization header to the
+ * populated security context. The user lookup behind the principal cache is an in-memory
+ * stand-in for the repository, so the numbers cover the filter and token handling only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean statelessPrincipal;
+
+    private JwtAuthenticationFilter filter;
+
+    private String authorization;
+
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup
+    public void setup() {
+        User user = User.builder().displayName("user@example.com").role(Role.USER).build();
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry(), 10_000);
+        UserDetailsService userDetailsService = username -> user;
+        TokenPrincipalLoader principalLoader = new TokenPrincipalLoader(userDetailsService, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtService, principalLoader, statelessPrincipal);
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sessions");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,54 @@
+package com.home.reminisce.benchmarks;
+
+import com.home.reminisce.security.Role;
+import com.home.reminisce.security.TokenClaims;
+import com.home.reminisce.security.User;
+import com.home.reminisce.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation. A cache size of 0 verifies the signature on every call,
+ * the default size answers repeated tokens from the claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    @Param({"0", "10000"})
+    private long tokenCacheSize;
+
+    private JwtService jwtService;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(new SimpleMeterRegistry(), tokenCacheSize);
+        user = User.builder().displayName("user@example.com").role(Role.USER).build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> parseValidToken() {
+        return jwtService.parseValidToken(token);
+    }
+}
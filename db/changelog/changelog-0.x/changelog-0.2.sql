@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1697630400000-1
+ALTER TABLE "comment" ADD COLUMN IF NOT EXISTS "like_count" BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE "comment" ADD COLUMN IF NOT EXISTS "dislike_count" BIGINT DEFAULT 0 NOT NULL;
+
+-- changeset antonpopov:1697630400000-2
+UPDATE "comment" c SET
+    "like_count" = (SELECT COUNT(*) FROM "reaction" r WHERE r."comment_id" = c."id" AND r."reaction_type" = 'LIKE'),
+    "dislike_count" = (SELECT COUNT(*) FROM "reaction" r WHERE r."comment_id" = c."id" AND r."reaction_type" = 'DISLIKE');
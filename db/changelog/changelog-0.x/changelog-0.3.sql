@@ -0,0 +1,27 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1697716800000-1
+CREATE SEQUENCE IF NOT EXISTS "user_session_seq" AS bigint START WITH 1 INCREMENT BY 50 MINVALUE 1 MAXVALUE 9223372036854775807 CACHE 1;
+CREATE TABLE "user_session" ("id" BIGINT NOT NULL, "user_name" VARCHAR(255), "session_id" BIGINT NOT NULL, "role" VARCHAR(255), "last_activity_at" TIMESTAMP WITH TIME ZONE, "comment_count" BIGINT DEFAULT 0 NOT NULL, "participant_count" BIGINT DEFAULT 0 NOT NULL, CONSTRAINT "user_session_pkey" PRIMARY KEY ("id"));
+ALTER TABLE "user_session" ADD CONSTRAINT "user_session_user_session_uk" UNIQUE ("user_name", "session_id");
+CREATE INDEX "user_session_dashboard_idx" ON "user_session" ("user_name", "last_activity_at" DESC, "session_id" DESC);
+CREATE INDEX "user_session_session_idx" ON "user_session" ("session_id");
+
+-- changeset antonpopov:1697716800000-2
+WITH "member" AS (
+    SELECT s."created_by" AS "user_name", s."id" AS "session_id", 'CREATOR' AS "role"
+    FROM "session" s
+    WHERE s."created_by" IS NOT NULL
+    UNION
+    SELECT DISTINCT p."participant_name", p."session_id", 'PARTICIPANT'
+    FROM "participation" p
+    JOIN "session" s ON s."id" = p."session_id"
+    WHERE p."participant_name" IS NOT NULL AND p."participant_name" <> COALESCE(s."created_by", '')
+)
+INSERT INTO "user_session" ("id", "user_name", "session_id", "role", "last_activity_at", "comment_count", "participant_count")
+SELECT nextval('user_session_seq'), m."user_name", m."session_id", m."role",
+       COALESCE((SELECT MAX(c."created_on") FROM "comment" c WHERE c."session_id" = m."session_id"), s."created_on", now()),
+       (SELECT COUNT(*) FROM "comment" c WHERE c."session_id" = m."session_id"),
+       (SELECT COUNT(*) FROM "participation" p WHERE p."session_id" = m."session_id")
+FROM "member" m
+JOIN "session" s ON s."id" = m."session_id";
@@ -0,0 +1,14 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1697803200000-1
+CREATE INDEX IF NOT EXISTS "participation_session_participant_idx" ON "participation" ("session_id", "participant_name");
+CREATE INDEX IF NOT EXISTS "participation_participant_idx" ON "participation" ("participant_name", "session_id");
+
+-- changeset antonpopov:1697803200000-2
+CREATE INDEX IF NOT EXISTS "comment_session_idx" ON "comment" ("session_id", "created_on", "id");
+
+-- changeset antonpopov:1697803200000-3
+CREATE INDEX IF NOT EXISTS "reaction_comment_author_idx" ON "reaction" ("comment_id", "authored_by");
+
+-- changeset antonpopov:1697803200000-4
+CREATE INDEX IF NOT EXISTS "session_created_by_idx" ON "session" ("created_by", "created_on" DESC, "id" DESC);
@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1697889600000-1
+DELETE FROM "reaction" r
+USING "reaction" newer
+WHERE newer."comment_id" = r."comment_id"
+  AND newer."authored_by" = r."authored_by"
+  AND newer."id" > r."id";
+
+-- changeset antonpopov:1697889600000-2
+UPDATE "comment" c SET
+    "like_count" = (SELECT COUNT(*) FROM "reaction" r WHERE r."comment_id" = c."id" AND r."reaction_type" = 'LIKE'),
+    "dislike_count" = (SELECT COUNT(*) FROM "reaction" r WHERE r."comment_id" = c."id" AND r."reaction_type" = 'DISLIKE');
+
+-- changeset antonpopov:1697889600000-3
+DROP INDEX IF EXISTS "reaction_comment_author_idx";
+ALTER TABLE "reaction" ADD CONSTRAINT "reaction_comment_author_uk" UNIQUE ("comment_id", "authored_by");
@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1697976000000-1
+ALTER TABLE "session" ADD COLUMN IF NOT EXISTS "change_seq" BIGINT DEFAULT 0 NOT NULL;
+
+-- changeset antonpopov:1697976000000-2
+CREATE SEQUENCE IF NOT EXISTS "board_change_seq" AS bigint START WITH 1 INCREMENT BY 50 MINVALUE 1 MAXVALUE 9223372036854775807 CACHE 1;
+CREATE TABLE "board_change" ("id" BIGINT NOT NULL, "session_id" BIGINT NOT NULL, "seq" BIGINT NOT NULL, "type" VARCHAR(255), "comment_id" BIGINT, "participant_name" VARCHAR(255), "changed_on" TIMESTAMP WITH TIME ZONE, CONSTRAINT "board_change_pkey" PRIMARY KEY ("id"));
+ALTER TABLE "board_change" ADD CONSTRAINT "board_change_session_seq_uk" UNIQUE ("session_id", "seq");
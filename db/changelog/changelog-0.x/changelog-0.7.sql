@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1698062400000-1
+UPDATE "session" SET "created_on" = now() WHERE "created_on" IS NULL;
+UPDATE "comment" c SET "created_on" = COALESCE((SELECT s."created_on" FROM "session" s WHERE s."id" = c."session_id"), now())
+WHERE c."created_on" IS NULL;
+UPDATE "user_session" us SET "last_activity_at" = COALESCE((SELECT s."created_on" FROM "session" s WHERE s."id" = us."session_id"), now())
+WHERE us."last_activity_at" IS NULL;
+ALTER TABLE "session" ALTER COLUMN "created_on" SET NOT NULL;
+ALTER TABLE "comment" ALTER COLUMN "created_on" SET NOT NULL;
+ALTER TABLE "user_session" ALTER COLUMN "last_activity_at" SET NOT NULL;
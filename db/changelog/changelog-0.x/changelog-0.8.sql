@@ -0,0 +1,16 @@
+-- liquibase formatted sql
+
+-- changeset antonpopov:1698148800000-1
+CREATE TABLE "session_activity" ("session_id" BIGINT NOT NULL, "last_activity_at" TIMESTAMP WITH TIME ZONE NOT NULL, "comment_count" BIGINT DEFAULT 0 NOT NULL, "participant_count" BIGINT DEFAULT 0 NOT NULL, CONSTRAINT "session_activity_pkey" PRIMARY KEY ("session_id"));
+INSERT INTO "session_activity" ("session_id", "last_activity_at", "comment_count", "participant_count")
+SELECT s."id",
+       COALESCE((SELECT MAX(us."last_activity_at") FROM "user_session" us WHERE us."session_id" = s."id"), s."created_on"),
+       (SELECT COUNT(*) FROM "comment" c WHERE c."session_id" = s."id"),
+       (SELECT COUNT(*) FROM "participation" p WHERE p."session_id" = s."id")
+FROM "session" s;
+
+-- changeset antonpopov:1698148800000-2
+DROP INDEX IF EXISTS "user_session_dashboard_idx";
+ALTER TABLE "user_session" DROP COLUMN "last_activity_at";
+ALTER TABLE "user_session" DROP COLUMN "comment_count";
+ALTER TABLE "user_session" DROP COLUMN "participant_count";
@@ -0,0 +1,90 @@
+package com.home.reminisce.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blocking JSON calls against the REST api. Every call is timed from the moment the
+ * request is sent until the whole response body has arrived; answers other than 2xx
+ * and 304 (an unchanged reaction) and transport errors are counted as failures of the operation.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+
+    private final String baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final LatencyReport report;
+
+    ApiClient(String baseUrl, ObjectMapper objectMapper, LatencyReport report) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.report = report;
+    }
+
+    /**
+     * Registers a user and then logs in with the same credentials, returning the token of the login.
+     */
+    Optional<String> registerAndAuthenticate(String email, String password) {
+        Optional<JsonNode> registered = post("rest.register", "/api/v1/auth/register", null,
+                Map.of("firstName", "Load", "lastname", "Test", "email", email, "password", password));
+        if (registered.isEmpty()) {
+            return Optional.empty();
+        }
+        return post("rest.authenticate", "/api/v1/auth/authenticate", null, Map.of("email", email, "password", password))
+                .map(response -> response.path("token").asText(null));
+    }
+
+    Optional<JsonNode> post(String operation, String path, String token, Object body) {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be written as JSON", e);
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long end = System.nanoTime();
+            if (response.statusCode() / 100 != 2 && response.statusCode() != 304) {
+                report.failed(operation);
+                return Optional.empty();
+            }
+            report.record(operation, start, end);
+            byte[] responseBody = response.body();
+            return Optional.of(responseBody.length > 0 ? objectMapper.readTree(responseBody) : objectMapper.nullNode());
+        } catch (IOException e) {
+            report.failed(operation);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.failed(operation);
+            return Optional.empty();
+        }
+    }
+}
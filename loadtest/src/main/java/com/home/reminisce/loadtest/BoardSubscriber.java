@@ -0,0 +1,98 @@
+package com.home.reminisce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * One participant's board connection: a STOMP session over the SockJS endpoint,
+ * subscribed to the comments and reactions topics of the participant's retro.
+ */
+final class BoardSubscriber {
+
+    static final String CONNECT_OPERATION = "ws.connect";
+
+    private static final String TRANSPORT_OPERATION = "ws.transport";
+
+    private final StompSession session;
+
+    private BoardSubscriber(StompSession session) {
+        this.session = session;
+    }
+
+    static CompletableFuture<BoardSubscriber> connect(WebSocketStompClient stompClient,
+                                                      String baseUrl,
+                                                      long sessionId,
+                                                      ObjectMapper objectMapper,
+                                                      DeliveryTracker tracker,
+                                                      LatencyReport report) {
+        long start = System.nanoTime();
+        return stompClient.connectAsync(baseUrl + "/websocket", new StompSessionHandlerAdapter() {
+                    @Override
+                    public void handleTransportError(StompSession session, Throwable exception) {
+                        report.failed(TRANSPORT_OPERATION);
+                    }
+
+                    @Override
+                    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                                byte[] payload, Throwable exception) {
+                        report.failed(TRANSPORT_OPERATION);
+                    }
+                })
+                .whenComplete((session, error) -> {
+                    if (error != null) {
+                        report.failed(CONNECT_OPERATION);
+                    } else {
+                        report.record(CONNECT_OPERATION, start, System.nanoTime());
+                    }
+                })
+                .thenApply(session -> {
+                    session.subscribe("/topic/sessions/" + sessionId + "/comments",
+                            new EventsHandler(objectMapper, event -> tracker.received(event.path("text").asText(null))));
+                    session.subscribe("/topic/sessions/" + sessionId + "/reactions",
+                            new EventsHandler(objectMapper, event -> tracker.reactionEventReceived()));
+                    return new BoardSubscriber(session);
+                });
+    }
+
+    void disconnect() {
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    /**
+     * Board topics carry a JSON array of events per frame; each element is handed on separately.
+     */
+    private record EventsHandler(ObjectMapper objectMapper, Consumer<JsonNode> eventConsumer) implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            try {
+                JsonNode events = objectMapper.readTree((byte[]) payload);
+                if (events.isArray()) {
+                    events.forEach(eventConsumer);
+                } else {
+                    eventConsumer.accept(events);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Board frame is not JSON", e);
+            }
+        }
+    }
+}
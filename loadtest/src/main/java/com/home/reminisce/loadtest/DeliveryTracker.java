@@ -0,0 +1,99 @@
+package com.home.reminisce.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures end-to-end comment delivery: the time from sending POST /comments until a
+ * subscriber receives the comment on its session topic. Each posted comment carries a
+ * unique marker in its text that subscribers look up when a frame arrives.
+ */
+final class DeliveryTracker {
+
+    static final String DELIVERY_OPERATION = "ws.comment-delivery";
+
+    private static final String MARKER_PREFIX = "lt-";
+
+    private final LatencyReport report;
+
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+
+    private final AtomicLong expected = new AtomicLong();
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    private final AtomicLong reactionEvents = new AtomicLong();
+
+    DeliveryTracker(LatencyReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Returns a new marker and remembers the current time as its send time.
+     */
+    String send() {
+        String marker = MARKER_PREFIX + UUID.randomUUID();
+        sentAt.put(marker, System.nanoTime());
+        return marker;
+    }
+
+    /**
+     * The comment carrying this marker was created, so every subscriber of its session should receive it.
+     */
+    void created(int subscribers) {
+        expected.addAndGet(subscribers);
+    }
+
+    void failed(String marker) {
+        sentAt.remove(marker);
+    }
+
+    void received(String text) {
+        long now = System.nanoTime();
+        int start = text != null ? text.indexOf(MARKER_PREFIX) : -1;
+        if (start < 0) {
+            return;
+        }
+        Long sent = sentAt.get(text.substring(start));
+        if (sent != null) {
+            report.record(DELIVERY_OPERATION, sent, now);
+            delivered.incrementAndGet();
+        }
+    }
+
+    void reactionEventReceived() {
+        reactionEvents.incrementAndGet();
+    }
+
+    /**
+     * Waits until every expected delivery has arrived or the timeout passes.
+     *
+     * @return whether all expected deliveries arrived
+     */
+    boolean awaitAll(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (delivered.get() < expected.get()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return true;
+    }
+
+    long expected() {
+        return expected.get();
+    }
+
+    long delivered() {
+        return delivered.get();
+    }
+
+    long reactionEvents() {
+        return reactionEvents.get();
+    }
+}
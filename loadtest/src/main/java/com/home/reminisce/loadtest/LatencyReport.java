@@ -0,0 +1,84 @@
+package com.home.reminisce.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One HDR histogram per operation, recorded in microseconds, plus a failure count.
+ * REST calls are named {@code rest.*}, websocket measurements {@code ws.*}.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void record(String operation, long startNanos, long endNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(operation, name -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.max(micros, 0));
+    }
+
+    void failed(String operation) {
+        failures.computeIfAbsent(operation, name -> new LongAdder()).increment();
+    }
+
+    long count(String operation) {
+        Histogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.getTotalCount() : 0;
+    }
+
+    long failures(String operation) {
+        LongAdder count = failures.get(operation);
+        return count != null ? count.sum() : 0;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-28s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation (ms)", "count", "failed", "p50", "p90", "p99", "p99.9", "max");
+        histograms.forEach((operation, histogram) -> out.printf("%-28s %9d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                failures(operation),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        failures.keySet().stream()
+                .filter(operation -> !histograms.containsKey(operation))
+                .sorted()
+                .forEach(operation -> out.printf("%-28s %9d %8d%n", operation, 0, failures(operation)));
+    }
+
+    /**
+     * Writes every histogram as a percentile distribution in milliseconds
+     * ({@code <operation>.hgrm}), which the HdrHistogram plotter reads directly.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,140 @@
+package com.home.reminisce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.home.reminisce.ReminisceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates live retros against one instance and reports latency histograms.
+ * <p>
+ * Every retro has a facilitator and {@code --participants} participants who register and
+ * log in over REST, connect to the SockJS endpoint and subscribe to their board, then post
+ * comments followed by bursts of reaction toggles. REST calls are timed per endpoint and
+ * every comment is timed from its POST until each subscriber of the retro receives it.
+ * <p>
+ * Without {@code --target} an embedded instance is started with the {@code loadtest}
+ * profile (in-memory H2, production pool size). Reactions are left out of that run: they are
+ * written with a PostgreSQL-only upsert, so every toggle would fail on H2. Histograms are
+ * printed and written as {@code .hgrm} files.
+ */
+public final class LoadTest {
+
+    // SUBSCRIBE frames are not acknowledged by the simple broker, so give them time to register
+    private static final Duration SUBSCRIPTION_SETTLE = Duration.ofSeconds(1);
+
+    private static final int SETUP_CONCURRENCY = 16;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.target() == null && options.reactions() > 0) {
+            System.out.println("reactions are skipped against the embedded H2 instance; use --target with PostgreSQL");
+            options = options.withoutReactions();
+        }
+        ConfigurableApplicationContext application = options.target() == null ? startEmbedded() : null;
+        String baseUrl = application != null
+                ? "http://localhost:" + application.getEnvironment().getProperty("local.server.port")
+                : options.target().replaceAll("/+$", "");
+        LatencyReport report = new LatencyReport();
+        DeliveryTracker tracker = new DeliveryTracker(report);
+        try {
+            run(options, baseUrl, report, tracker, System.out);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        report.print(System.out);
+        report.write(options.output());
+        System.out.printf("histograms written to %s%n", options.output().toAbsolutePath());
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, LatencyReport report, DeliveryTracker tracker,
+                            PrintStream out) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ApiClient api = new ApiClient(baseUrl, objectMapper, report);
+        String runId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+        out.printf("%d retros x %d users against %s%n", options.retros(), options.usersPerRetro(), baseUrl);
+
+        List<RetroSimulation> retros = new ArrayList<>();
+        ExecutorService setup = Executors.newFixedThreadPool(Math.min(options.retros(), SETUP_CONCURRENCY));
+        try {
+            List<RetroSimulation> candidates = new ArrayList<>();
+            List<Future<Boolean>> ready = new ArrayList<>();
+            for (int index = 0; index < options.retros(); index++) {
+                RetroSimulation retro = new RetroSimulation(index, runId, options, api, tracker);
+                candidates.add(retro);
+                ready.add(setup.submit(retro::setUp));
+            }
+            for (int index = 0; index < candidates.size(); index++) {
+                if (ready.get(index).get()) {
+                    retros.add(candidates.get(index));
+                }
+            }
+        } finally {
+            setup.shutdownNow();
+        }
+        out.printf("%d of %d retros set up%n", retros.size(), options.retros());
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        List<CompletableFuture<BoardSubscriber>> connections = retros.stream()
+                .flatMap(retro -> retro.connect(stompClient, baseUrl, objectMapper, report).stream())
+                .toList();
+        List<BoardSubscriber> subscribers = new ArrayList<>();
+        for (CompletableFuture<BoardSubscriber> connection : connections) {
+            try {
+                subscribers.add(connection.get(30, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                // counted as a failed connect
+            }
+        }
+        out.printf("%d of %d board connections open%n", subscribers.size(), connections.size());
+        TimeUnit.MILLISECONDS.sleep(SUBSCRIPTION_SETTLE.toMillis());
+
+        List<Runnable> members = retros.stream().flatMap(retro -> retro.members().stream()).toList();
+        ExecutorService users = Executors.newFixedThreadPool(Math.max(members.size(), 1));
+        long start = System.nanoTime();
+        try {
+            members.forEach(users::submit);
+            users.shutdown();
+            users.awaitTermination(1, TimeUnit.DAYS);
+        } finally {
+            users.shutdownNow();
+        }
+        Duration posting = Duration.ofNanos(System.nanoTime() - start);
+        boolean drained = tracker.awaitAll(options.drainTimeout());
+
+        subscribers.forEach(BoardSubscriber::disconnect);
+        stompClient.stop();
+
+        long comments = report.count("rest.create-comment");
+        out.printf("posted %d comments and %d reactions in %.1f s (%.1f comments/s)%n",
+                comments, report.count("rest.create-reaction"), posting.toMillis() / 1000.0,
+                comments * 1000.0 / Math.max(posting.toMillis(), 1));
+        out.printf("comment deliveries: %d of %d%s; reaction events received: %d%n",
+                tracker.delivered(), tracker.expected(), drained ? "" : " (drain timed out)", tracker.reactionEvents());
+    }
+
+    private static ConfigurableApplicationContext startEmbedded() {
+        return new SpringApplicationBuilder(ReminisceApplication.class)
+                .run("--spring.profiles.active=loadtest", "--server.port=0");
+    }
+}
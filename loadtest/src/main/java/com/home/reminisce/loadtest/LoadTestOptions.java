@@ -0,0 +1,65 @@
+package com.home.reminisce.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shape of a load-test run, read from {@code --name=value} arguments.
+ *
+ * @param retros       concurrent retros (sessions)
+ * @param participants participants per retro, in addition to the facilitator who created it
+ * @param comments     comments posted by every participant
+ * @param reactions    reaction toggles in the burst that follows each comment; always 0 against the
+ *                     embedded instance, whose H2 database cannot run the PostgreSQL reaction upsert
+ * @param thinkTime    mean pause between two comments of the same participant
+ * @param drainTimeout how long to wait for outstanding websocket deliveries once posting is done
+ * @param target       base url of a running instance, or {@code null} to start an embedded one
+ * @param output       directory the histogram files are written to
+ */
+record LoadTestOptions(int retros,
+                       int participants,
+                       int comments,
+                       int reactions,
+                       Duration thinkTime,
+                       Duration drainTimeout,
+                       String target,
+                       Path output) {
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("retros", "10")),
+                Integer.parseInt(values.getOrDefault("participants", "10")),
+                Integer.parseInt(values.getOrDefault("comments", "10")),
+                Integer.parseInt(values.getOrDefault("reactions", "5")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("think-time-ms", "500"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("drain-timeout-s", "30"))),
+                values.get("target"),
+                Path.of(values.getOrDefault("output", "loadtest")));
+        if (options.retros() < 1 || options.participants() < 0 || options.comments() < 0 || options.reactions() < 0) {
+            throw new IllegalArgumentException("retros must be positive and the other counts must not be negative");
+        }
+        return options;
+    }
+
+    LoadTestOptions withoutReactions() {
+        return new LoadTestOptions(retros, participants, comments, 0, thinkTime, drainTimeout, target, output);
+    }
+
+    int usersPerRetro() {
+        return participants + 1;
+    }
+
+    int totalUsers() {
+        return retros * usersPerRetro();
+    }
+}
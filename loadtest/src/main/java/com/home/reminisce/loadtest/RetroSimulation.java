@@ -0,0 +1,136 @@
+package com.home.reminisce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One simulated retro: a facilitator who creates the session and adds the participants,
+ * and every member (facilitator included) subscribed to the board while posting
+ * comments, each followed by a burst of reaction toggles on comments of the retro.
+ */
+final class RetroSimulation {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final int CATEGORIES = 3;
+
+    private final int index;
+
+    private final String runId;
+
+    private final LoadTestOptions options;
+
+    private final ApiClient api;
+
+    private final DeliveryTracker tracker;
+
+    private final List<Member> members = new ArrayList<>();
+
+    private final List<Long> commentIds = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private long sessionId;
+
+    RetroSimulation(int index, String runId, LoadTestOptions options, ApiClient api, DeliveryTracker tracker) {
+        this.index = index;
+        this.runId = runId;
+        this.options = options;
+        this.api = api;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Registers every member, creates the session and adds the participants to it.
+     *
+     * @return whether the retro is ready; a retro that failed to set up is left out of the run
+     */
+    boolean setUp() {
+        for (int member = 0; member < options.usersPerRetro(); member++) {
+            String email = "loadtest-" + runId + "-r" + index + "-u" + member + "@example.com";
+            Optional<String> token = api.registerAndAuthenticate(email, PASSWORD);
+            if (token.isEmpty()) {
+                return false;
+            }
+            members.add(new Member(email, token.get()));
+        }
+        Member facilitator = members.get(0);
+        Optional<JsonNode> session = api.post("rest.create-session", "/sessions", facilitator.token(),
+                Map.of("name", "Load test retro " + index));
+        if (session.isEmpty()) {
+            return false;
+        }
+        sessionId = session.get().path("id").asLong();
+        if (members.size() == 1) {
+            return true;
+        }
+        List<String> participants = members.subList(1, members.size()).stream().map(Member::email).toList();
+        return api.post("rest.add-participants", "/participations/" + sessionId + "/add", facilitator.token(),
+                participants).isPresent();
+    }
+
+    List<CompletableFuture<BoardSubscriber>> connect(WebSocketStompClient stompClient, String baseUrl,
+                                                     ObjectMapper objectMapper, LatencyReport report) {
+        return members.stream()
+                .map(member -> BoardSubscriber.connect(stompClient, baseUrl, sessionId, objectMapper, tracker, report)
+                        .whenComplete((subscriber, error) -> {
+                            if (error == null) {
+                                subscribers.incrementAndGet();
+                            }
+                        }))
+                .toList();
+    }
+
+    List<Runnable> members() {
+        return members.stream().<Runnable>map(member -> () -> participate(member)).toList();
+    }
+
+    private void participate(Member member) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int comment = 0; comment < options.comments() && !Thread.currentThread().isInterrupted(); comment++) {
+            think(random);
+            String marker = tracker.send();
+            Optional<JsonNode> created = api.post("rest.create-comment", "/comments", member.token(),
+                    Map.of("sessionId", sessionId, "text", "Load test comment " + marker,
+                            "categoryId", random.nextInt(CATEGORIES)));
+            if (created.isPresent()) {
+                tracker.created(subscribers.get());
+                commentIds.add(created.get().path("id").asLong());
+            } else {
+                tracker.failed(marker);
+            }
+            for (int reaction = 0; reaction < options.reactions() && !commentIds.isEmpty(); reaction++) {
+                api.post("rest.create-reaction", "/reactions", member.token(),
+                        Map.of("commentId", commentIds.get(random.nextInt(commentIds.size())),
+                                "reactionType", random.nextBoolean() ? "LIKE" : "DISLIKE"));
+            }
+        }
+    }
+
+    // pauses between half and one and a half times the configured think time, so members do not post in lockstep
+    private void think(ThreadLocalRandom random) {
+        long thinkMillis = options.thinkTime().toMillis();
+        if (thinkMillis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(thinkMillis / 2 + random.nextLong(thinkMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Member(String email, String token) {
+    }
+}
@@ -1,15 +1,14 @@
 package com.home.reminisce.api.controller;
 
 import com.home.reminisce.api.model.CommentRequest;
+import com.home.reminisce.api.model.CursorPage;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Comment;
+import com.home.reminisce.service.BoardEventPublisher;
 import com.home.reminisce.service.CommentService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.NoSuchElementException;
@@ -20,18 +19,31 @@ import java.util.NoSuchElementException;
 public class CommentController {
 
     private final CommentService commentService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BoardEventPublisher boardEventPublisher;
 
-    public CommentController(CommentService commentService, SimpMessagingTemplate messagingTemplate) {
+    public CommentController(CommentService commentService, BoardEventPublisher boardEventPublisher) {
         this.commentService = commentService;
-        this.messagingTemplate = messagingTemplate;
+        this.boardEventPublisher = boardEventPublisher;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getComments(@RequestParam Long sessionId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentsPage(sessionId, cursor, CursorPage.clampSize(size)));
+        } catch (UnauthorizedAccessException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping
     public ResponseEntity<?> createComment(@RequestBody CommentRequest commentRequest) {
         try {
             Comment createdComment = commentService.createComment(commentRequest);
-            messagingTemplate.convertAndSend("/topic/newComment", createdComment);
+            boardEventPublisher.commentCreated(createdComment);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
         } catch (UnauthorizedAccessException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
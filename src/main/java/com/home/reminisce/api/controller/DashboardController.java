@@ -0,0 +1,29 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.service.UserSessionService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@SecurityRequirement(name = "bearerAuth")
+public class DashboardController {
+
+    private final UserSessionService userSessionService;
+
+    public DashboardController(UserSessionService userSessionService) {
+        this.userSessionService = userSessionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getDashboard(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(userSessionService.getDashboard(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
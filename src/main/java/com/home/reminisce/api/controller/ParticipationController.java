@@ -1,13 +1,21 @@
 package com.home.reminisce.api.controller;
 
+import com.home.reminisce.api.model.RosterImportResult;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Participation;
+import com.home.reminisce.service.BoardEventPublisher;
+import com.home.reminisce.service.ImportService;
 import com.home.reminisce.service.ParticipationService;
+import com.home.reminisce.service.RosterFormat;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,10 +23,19 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class ParticipationController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ParticipationService participationService;
 
-    public ParticipationController(ParticipationService participationService) {
+    private final BoardEventPublisher boardEventPublisher;
+
+    private final ImportService importService;
+
+    public ParticipationController(ParticipationService participationService, BoardEventPublisher boardEventPublisher,
+                                   ImportService importService) {
         this.participationService = participationService;
+        this.boardEventPublisher = boardEventPublisher;
+        this.importService = importService;
     }
 
     @PostMapping("/{sessionId}/add")
@@ -27,12 +44,30 @@ public class ParticipationController {
             @RequestBody List<String> participants) {
         try {
             List<Participation> addedParticipations = participationService.addParticipations(sessionId, participants);
+            boardEventPublisher.participantsAdded(sessionId, addedParticipations);
             return ResponseEntity.status(HttpStatus.CREATED).body(addedParticipations);
         } catch (UnauthorizedAccessException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
 
+    @PostMapping(value = "/{sessionId}/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<?> importParticipations(
+            @PathVariable("sessionId") Long sessionId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        RosterFormat format = contentType.isCompatibleWith(MediaType.valueOf(TEXT_CSV_VALUE)) ? RosterFormat.CSV : RosterFormat.NDJSON;
+        try {
+            // each committed batch of names is published by the import itself
+            RosterImportResult result = importService.importRoster(sessionId, body, format);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (UnauthorizedAccessException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{sessionId}")
     public ResponseEntity<List<Participation>> getParticipations(@PathVariable("sessionId") Long sessionId) {
         return ResponseEntity.ok(participationService.getParticipations(sessionId));
@@ -44,6 +79,7 @@ public class ParticipationController {
             @RequestBody List<String> participants) {
         try {
             participationService.deleteParticipations(sessionId, participants);
+            boardEventPublisher.participantsRemoved(sessionId, participants);
             return ResponseEntity.noContent().build();
         } catch (UnauthorizedAccessException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
@@ -1,41 +1,99 @@
 package com.home.reminisce.api.controller;
 
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.SerializedBoard;
 import com.home.reminisce.api.model.SessionRequest;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.service.BoardEventStreams;
+import com.home.reminisce.service.ExportFormat;
+import com.home.reminisce.service.ExportService;
+import com.home.reminisce.service.ImportService;
 import com.home.reminisce.service.SessionService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RestController
 @SecurityRequirement(name = "bearerAuth")
 public class SessionController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     private SessionService sessionService;
 
-    public SessionController(SessionService sessionService) {
+    private ImportService importService;
+
+    private BoardEventStreams eventStreams;
+
+    private ExportService exportService;
+
+    public SessionController(SessionService sessionService, ImportService importService,
+                             BoardEventStreams eventStreams, ExportService exportService) {
         this.sessionService = sessionService;
+        this.importService = importService;
+        this.eventStreams = eventStreams;
+        this.exportService = exportService;
     }
 
     @GetMapping("/sessions/{id}")
-    public ResponseEntity<?> getSessionById(@PathVariable long id) throws Exception {
+    public ResponseEntity<?> getSessionById(@PathVariable long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
+        try {
+            // the cached board is JSON; clients asking for CBOR get it through content negotiation
+            Optional<SerializedBoard> completedBoard = acceptsCbor(accept) ? Optional.empty() : sessionService.getCompletedBoard(id);
+            if (completedBoard.isPresent()) {
+                return completedBoard(completedBoard.get(), ifNoneMatch, acceptEncoding);
+            }
+            return ResponseEntity.ok(sessionService.getBoard(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/sessions/{id}/changes")
+    public ResponseEntity<?> getSessionChanges(@PathVariable long id, @RequestParam long since) {
         try {
-            return ResponseEntity.ok(sessionService.findById(id));
+            return ResponseEntity.ok(sessionService.getChanges(id, since));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping(value = "/sessions/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSession(@PathVariable long id,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            sessionService.findById(id);
+            return ResponseEntity.ok(eventStreams.open(id, lastEventId));
+        } catch (NoSuchElementException | EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (UnauthorizedAccessException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     @GetMapping("/sessions")
     public List<Session> getSessions() throws Exception {
         return sessionService.getAll();
@@ -46,6 +104,40 @@ public class SessionController {
         return sessionService.createSession(sessionRequest);
     }
 
+    @PostMapping(value = "/sessions/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importSessions(InputStream body) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(importService.importBoards(body));
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/sessions/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportSession(@PathVariable long id,
+                                                               @RequestParam(defaultValue = "ndjson") String format) {
+        Optional<ExportFormat> exportFormat = exportFormat(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return export(exportService.exportSession(id, exportFormat.get()), exportFormat.get(), "session-" + id);
+        } catch (NoSuchElementException | EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (UnauthorizedAccessException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    @GetMapping("/sessions/export")
+    public ResponseEntity<StreamingResponseBody> exportSessions(@RequestParam(defaultValue = "ndjson") String format) {
+        Optional<ExportFormat> exportFormat = exportFormat(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return export(exportService.exportSessions(exportFormat.get()), exportFormat.get(), "sessions");
+    }
+
     @PatchMapping("/sessions/{id}/end")
     public ResponseEntity<Session> endSession(@PathVariable long id) {
         try {
@@ -56,8 +148,64 @@ public class SessionController {
     }
 
     @GetMapping("/sessions_p")
-    public Page<Session> getSessions(Pageable pageable) throws Exception {
-        return sessionService.getPaginatedSessions(pageable);
+    public ResponseEntity<?> getSessions(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(sessionService.getSessionsPage(cursor, CursorPage.clampSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // a completed board is revalidated on every view, which costs a 304 while it is unchanged
+    private static ResponseEntity<?> completedBoard(SerializedBoard board, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(board.etag(gzip));
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (board.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_JSON).body(board.body(gzip));
+    }
+
+    private static boolean acceptsCbor(String accept) {
+        try {
+            return accept != null && MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(MediaType.APPLICATION_CBOR::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT).replace(" ", ""))
+                .anyMatch(coding -> (coding.equals("gzip") || coding.startsWith("gzip;"))
+                        && !coding.matches("gzip;q=0(\\.0*)?"));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(StreamingResponseBody body, ExportFormat format,
+                                                                String name) {
+        String extension = format.name().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + "." + extension).build().toString())
+                .body(body);
+    }
+
+    private static Optional<ExportFormat> exportFormat(String format) {
+        return Arrays.stream(ExportFormat.values())
+                .filter(candidate -> candidate.name().equalsIgnoreCase(format))
+                .findFirst();
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,21 @@
+package com.home.reminisce.api.model;
+
+import java.util.List;
+
+/**
+ * Answer to an incremental sync: the changes after the client's cursor, or a full snapshot
+ * when the cursor is no longer covered by the change log. {@code seq} is the cursor for the next sync.
+ */
+public record BoardChanges(long sessionId,
+                           long seq,
+                           List<BoardDelta> changes,
+                           BoardSnapshot snapshot) {
+
+    public static BoardChanges of(long sessionId, long seq, List<BoardDelta> changes) {
+        return new BoardChanges(sessionId, seq, changes, null);
+    }
+
+    public static BoardChanges of(BoardSnapshot snapshot) {
+        return new BoardChanges(snapshot.id(), snapshot.changeSeq(), List.of(), snapshot);
+    }
+}
@@ -0,0 +1,16 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.ReactionType;
+
+import java.time.Instant;
+
+public record BoardComment(Long id,
+                           Long sessionId,
+                           String authoredBy,
+                           Instant createdOn,
+                           String text,
+                           Integer categoryId,
+                           long likeCount,
+                           long dislikeCount,
+                           ReactionType myReaction) {
+}
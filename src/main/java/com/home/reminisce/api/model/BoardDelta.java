@@ -0,0 +1,14 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.BoardChangeType;
+
+/**
+ * One change of a board since a client's cursor. Comment and reaction changes carry the
+ * comment as it is now (with the caller's own reaction), or none once it has been deleted.
+ */
+public record BoardDelta(long seq,
+                         BoardChangeType type,
+                         Long commentId,
+                         String participantName,
+                         BoardComment comment) {
+}
@@ -0,0 +1,17 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.SessionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A whole board exported from another retro tool. The importing user becomes the creator.
+ */
+public record BoardImport(String name,
+                          Instant createdOn,
+                          Instant endedOn,
+                          SessionStatus status,
+                          List<String> participants,
+                          List<BoardImportComment> comments) {
+}
@@ -0,0 +1,11 @@
+package com.home.reminisce.api.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BoardImportComment(String text,
+                                 String authoredBy,
+                                 Instant createdOn,
+                                 Integer categoryId,
+                                 List<BoardImportReaction> reactions) {
+}
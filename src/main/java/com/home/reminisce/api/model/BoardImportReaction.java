@@ -0,0 +1,8 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.ReactionType;
+
+import java.time.Instant;
+
+public record BoardImportReaction(String authoredBy, ReactionType reactionType, Instant createdOn) {
+}
@@ -0,0 +1,6 @@
+package com.home.reminisce.api.model;
+
+import java.util.List;
+
+public record BoardImportResult(List<Long> sessionIds, long comments, long reactions) {
+}
@@ -0,0 +1,23 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BoardSnapshot(long id,
+                            String name,
+                            Instant createdOn,
+                            Instant endedOn,
+                            String createdBy,
+                            SessionStatus status,
+                            List<BoardComment> comments,
+                            long changeSeq) {
+
+    public static BoardSnapshot of(Session session, List<BoardComment> comments) {
+        return new BoardSnapshot(session.getId(), session.getName(), session.getCreatedOn(), session.getEndedOn(),
+                session.getCreatedBy(), session.getStatus(), comments,
+                session.getChangeSeq());
+    }
+}
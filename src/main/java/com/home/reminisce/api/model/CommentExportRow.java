@@ -0,0 +1,17 @@
+package com.home.reminisce.api.model;
+
+import java.time.Instant;
+
+/**
+ * One comment of an export, flattened with the session it belongs to.
+ */
+public record CommentExportRow(Long sessionId,
+                               String sessionName,
+                               Long commentId,
+                               Instant createdOn,
+                               String authoredBy,
+                               Integer categoryId,
+                               String text,
+                               long likeCount,
+                               long dislikeCount) {
+}
@@ -0,0 +1,29 @@
+package com.home.reminisce.api.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is passed back to fetch the
+ * following page and is null on the last page; no total count is computed.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only
+     * signals that another page follows and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> positionOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(page, positionOf.apply(page.get(size - 1)).encode());
+    }
+}
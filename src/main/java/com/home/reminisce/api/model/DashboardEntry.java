@@ -0,0 +1,16 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.SessionRole;
+import com.home.reminisce.model.SessionStatus;
+
+import java.time.Instant;
+
+public record DashboardEntry(long sessionId,
+                             String name,
+                             SessionStatus status,
+                             Instant createdOn,
+                             SessionRole role,
+                             Instant lastActivityAt,
+                             long commentCount,
+                             long participantCount) {
+}
@@ -0,0 +1,42 @@
+package com.home.reminisce.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in a listing ordered by a timestamp and then id.
+ * Travels to the client as an opaque url-safe token. The timestamp columns of the listings
+ * are not nullable, so a row without one cannot be a position.
+ */
+public record PageCursor(Instant timestamp, long id) {
+
+    public PageCursor {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Page cursor of row " + id + " has no timestamp");
+        }
+    }
+
+    public String encode() {
+        String position = timestamp.getEpochSecond() + ":" + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token made by {@link #encode()}; anything else, including a tampered token,
+     * is rejected with an {@link IllegalArgumentException}.
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed page cursor");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new PageCursor(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed page cursor", e);
+        }
+    }
+}
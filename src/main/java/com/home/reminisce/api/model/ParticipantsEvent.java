@@ -0,0 +1,6 @@
+package com.home.reminisce.api.model;
+
+import java.util.List;
+
+public record ParticipantsEvent(Long sessionId, List<String> added, List<String> removed) {
+}
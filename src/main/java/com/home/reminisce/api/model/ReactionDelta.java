@@ -0,0 +1,4 @@
+package com.home.reminisce.api.model;
+
+public record ReactionDelta(Long commentId, long likeDelta, long dislikeDelta) {
+}
@@ -0,0 +1,4 @@
+package com.home.reminisce.api.model;
+
+public record RosterImportResult(long added, long skipped) {
+}
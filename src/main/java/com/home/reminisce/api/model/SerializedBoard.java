@@ -0,0 +1,41 @@
+package com.home.reminisce.api.model;
+
+import java.util.Arrays;
+
+/**
+ * The JSON of a board snapshot, serialized once, with its gzip encoding and a strong entity tag.
+ * The gzip encoding is a different representation, so it is served under its own tag.
+ */
+public record SerializedBoard(byte[] json, byte[] gzipped, String etag) {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    public byte[] body(boolean gzip) {
+        return gzip ? gzipped : json;
+    }
+
+    /**
+     * The quoted entity tag of the identity or the gzip representation.
+     */
+    public String etag(boolean gzip) {
+        return "\"" + etag + (gzip ? GZIP_SUFFIX : "") + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header with the weak comparison a GET requires, so a tag of
+     * either representation (or {@code *}) matches.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag(false)) || tag.equals(etag(true)));
+    }
+
+    public int size() {
+        return json.length + gzipped.length;
+    }
+}
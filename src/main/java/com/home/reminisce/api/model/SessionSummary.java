@@ -0,0 +1,13 @@
+package com.home.reminisce.api.model;
+
+import com.home.reminisce.model.SessionStatus;
+
+import java.time.Instant;
+
+public record SessionSummary(long id,
+                             String name,
+                             Instant createdOn,
+                             Instant endedOn,
+                             String createdBy,
+                             SessionStatus status) {
+}
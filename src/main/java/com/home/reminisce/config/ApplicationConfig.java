@@ -1,6 +1,7 @@
 package com.home.reminisce.config;
 
 import com.home.reminisce.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +20,12 @@ public class ApplicationConfig {
 
     private final UserRepository repository;
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Uncached, so credential checks always see the stored password; token requests go
+     * through {@link TokenPrincipalLoader}.
+     */
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> repository.findByDisplayName(username)
@@ -40,6 +47,6 @@ public class ApplicationConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
@@ -0,0 +1,274 @@
+package com.home.reminisce.config;
+
+import com.home.reminisce.service.BoardEventReplayBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.OrderedMessageChannelDecorator;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a reconnecting client the frames it missed. A SUBSCRIBE carrying the last
+ * {@value BoardEventReplayBuffer#SEQ_HEADER} the client saw in a {@value #REPLAY_SINCE_HEADER}
+ * header is answered with the later frames from the {@link BoardEventReplayBuffer}, marked
+ * {@value #REPLAYED_HEADER}, or with an empty {@value #RESYNC_HEADER} frame when they are no
+ * longer kept, telling the client to catch up through {@code GET /sessions/{id}/changes}.
+ * <p>
+ * Replay starts once the broker has registered the subscription, so a frame is either
+ * replayed or delivered live; one that is both is dropped by the client on its seq.
+ * <p>
+ * The interceptor sits on both client channels. The outbound channel hands frames to several
+ * threads, and the broker only keeps a session's own frames in order, so live frames of a
+ * subscription being replayed are held back on the outbound channel until the replayed frames
+ * have been handled. Replayed and held frames then go out one at a time, in order.
+ */
+@Slf4j
+@Component
+public class BoardEventReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String REPLAY_SINCE_HEADER = "replay-since";
+
+    public static final String REPLAYED_HEADER = "replayed";
+
+    public static final String RESYNC_HEADER = "resync";
+
+    // internal header of the frames a replay sends, so they are not held back themselves
+    private static final String RELEASE_HEADER = "reminisceReplayRelease";
+
+    private final BoardEventReplayBuffer replayBuffer;
+
+    // the template is built from this configuration's own channels, hence lazy
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<ReplayKey, PendingReplay> pendingReplays = new ConcurrentHashMap<>();
+
+    private final AtomicLong releases = new AtomicLong();
+
+    private final Counter framesReplayed;
+
+    private final Counter resyncs;
+
+    public BoardEventReplayInterceptor(BoardEventReplayBuffer replayBuffer,
+                                       @Lazy SimpMessagingTemplate messagingTemplate,
+                                       MeterRegistry meterRegistry) {
+        this.replayBuffer = replayBuffer;
+        this.messagingTemplate = messagingTemplate;
+        this.framesReplayed = Counter.builder("reminisce.websocket.replay.frames")
+                .description("Frames replayed to reconnecting subscribers")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("reminisce.websocket.replay.resyncs")
+                .description("Reconnecting subscribers told to resync because their frames were no longer kept")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (pendingReplays.isEmpty() || message.getHeaders().containsKey(RELEASE_HEADER)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!SimpMessageType.MESSAGE.equals(accessor.getMessageType())) {
+            return message;
+        }
+        PendingReplay pending = pendingReplays.get(new ReplayKey(accessor.getSessionId(), accessor.getSubscriptionId()));
+        return pending != null && pending.hold(message) ? null : message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (replayBuffer.enabled() && handler instanceof AbstractBrokerMessageHandler) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            if (isReplayRequest(accessor)) {
+                // before the broker registers the subscription, so no live frame of it gets past
+                pendingReplays.put(new ReplayKey(accessor.getSessionId(), accessor.getSubscriptionId()), new PendingReplay());
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (handler instanceof AbstractBrokerMessageHandler broker) {
+            replay(message, broker, ex);
+        } else if (message.getHeaders().get(RELEASE_HEADER) instanceof Long release) {
+            released(message, release);
+        }
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // a released frame the outbound channel did not take is never handled, so the replay moves on here
+        if ((!sent || ex != null) && message.getHeaders().get(RELEASE_HEADER) instanceof Long release) {
+            released(message, release);
+        }
+    }
+
+    private void replay(Message<?> message, AbstractBrokerMessageHandler broker, Exception ex) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!replayBuffer.enabled() || !isReplayRequest(accessor)) {
+            return;
+        }
+        ReplayKey key = new ReplayKey(accessor.getSessionId(), accessor.getSubscriptionId());
+        PendingReplay pending = pendingReplays.get(key);
+        if (pending == null) {
+            return;
+        }
+        List<Message<?>> frames = new ArrayList<>();
+        if (ex == null) {
+            try {
+                frames.addAll(replayFrames(accessor));
+            } catch (RuntimeException e) {
+                log.warn("Failed to replay board events of {} to session {}",
+                        accessor.getDestination(), accessor.getSessionId(), e);
+            }
+        }
+        pending.start(key, new OrderedMessageChannelDecorator(broker.getClientOutboundChannel(),
+                LogFactory.getLog(BoardEventReplayInterceptor.class)), frames);
+    }
+
+    private List<Message<?>> replayFrames(SimpMessageHeaderAccessor subscribe) {
+        Optional<List<BoardEventReplayBuffer.Frame>> frames;
+        try {
+            frames = replayBuffer.framesAfter(subscribe.getDestination(),
+                    Long.parseLong(subscribe.getFirstNativeHeader(REPLAY_SINCE_HEADER).trim()));
+        } catch (NumberFormatException e) {
+            frames = Optional.empty();
+        }
+        List<Message<?>> messages = new ArrayList<>();
+        if (frames.isPresent()) {
+            for (BoardEventReplayBuffer.Frame frame : frames.get()) {
+                messages.add(frame(subscribe, frame.payload(), BoardEventReplayBuffer.SEQ_HEADER, Long.toString(frame.seq())));
+            }
+            framesReplayed.increment(frames.get().size());
+        } else {
+            messages.add(frame(subscribe, List.of(), RESYNC_HEADER, "true"));
+            resyncs.increment();
+        }
+        messages.removeIf(Objects::isNull);
+        return messages;
+    }
+
+    private Message<?> frame(SimpMessageHeaderAccessor subscribe, Object payload, String header, String value) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(subscribe.getSessionId());
+        headers.setSubscriptionId(subscribe.getSubscriptionId());
+        headers.setDestination(subscribe.getDestination());
+        headers.setNativeHeader(header, value);
+        headers.setNativeHeader(REPLAYED_HEADER, "true");
+        headers.setLeaveMutable(true);
+        return messagingTemplate.getMessageConverter().toMessage(payload, headers.getMessageHeaders());
+    }
+
+    private void released(Message<?> message, long release) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        ReplayKey key = new ReplayKey(accessor.getSessionId(), accessor.getSubscriptionId());
+        PendingReplay pending = pendingReplays.get(key);
+        if (pending != null) {
+            pending.released(key, release);
+        }
+    }
+
+    private static boolean isReplayRequest(SimpMessageHeaderAccessor accessor) {
+        return SimpMessageType.SUBSCRIBE.equals(accessor.getMessageType())
+                && accessor.getFirstNativeHeader(REPLAY_SINCE_HEADER) != null;
+    }
+
+    private record ReplayKey(String sessionId, String subscriptionId) {
+    }
+
+    /**
+     * A subscription whose live frames wait for its replay. Frames are released through one
+     * ordered channel, which sends the next once the previous has been handled; the replay is
+     * over when the last released frame is handled and nothing else was held meanwhile.
+     */
+    private final class PendingReplay {
+
+        private final List<Message<?>> held = new ArrayList<>();
+
+        private MessageChannel channel;
+
+        private long lastRelease = -1;
+
+        private boolean finished;
+
+        synchronized boolean hold(Message<?> message) {
+            if (finished) {
+                return false;
+            }
+            held.add(message);
+            return true;
+        }
+
+        void start(ReplayKey key, MessageChannel orderedChannel, List<Message<?>> frames) {
+            List<Message<?>> release;
+            synchronized (this) {
+                channel = orderedChannel;
+                held.addAll(0, frames);
+                release = takeHeld(key);
+            }
+            release.forEach(orderedChannel::send);
+        }
+
+        void released(ReplayKey key, long release) {
+            List<Message<?>> next;
+            MessageChannel orderedChannel;
+            synchronized (this) {
+                if (release != lastRelease) {
+                    return;
+                }
+                next = takeHeld(key);
+                orderedChannel = channel;
+            }
+            next.forEach(orderedChannel::send);
+        }
+
+        // the held frames numbered for release; none once the replay is over
+        private List<Message<?>> takeHeld(ReplayKey key) {
+            if (held.isEmpty()) {
+                finished = true;
+                lastRelease = -1;
+                pendingReplays.remove(key, this);
+                return List.of();
+            }
+            List<Message<?>> frames = new ArrayList<>();
+            for (Message<?> frame : held) {
+                lastRelease = releases.incrementAndGet();
+                frames.add(withRelease(frame, lastRelease));
+            }
+            held.clear();
+            return frames;
+        }
+
+        private Message<?> withRelease(Message<?> frame, long release) {
+            SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(frame, SimpMessageHeaderAccessor.class);
+            if (accessor != null && accessor.isMutable()) {
+                accessor.setHeader(RELEASE_HEADER, release);
+                return frame;
+            }
+            SimpMessageHeaderAccessor copy = SimpMessageHeaderAccessor.wrap(frame);
+            copy.setHeader(RELEASE_HEADER, release);
+            copy.setLeaveMutable(true);
+            return MessageBuilder.createMessage(frame.getPayload(), copy.getMessageHeaders());
+        }
+    }
+}
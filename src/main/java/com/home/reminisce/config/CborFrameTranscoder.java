@@ -0,0 +1,128 @@
+package com.home.reminisce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends board frames as CBOR to STOMP clients that asked for it with an
+ * {@value #ACCEPT_HEADER}{@code : application/cbor} header on CONNECT. Topics are shared by
+ * clients of both kinds, so frames are published as JSON and re-encoded on the way out to a
+ * CBOR client; the broker hands every subscriber the same payload array, which lets one
+ * encoding per frame serve all CBOR subscribers.
+ * <p>
+ * A frame only goes out as a binary WebSocket message on a plain WebSocket session and with an
+ * {@code application/octet-stream} content type; anything else is sent as text, which would
+ * corrupt the CBOR body. CBOR is therefore only offered on the endpoint registered with
+ * {@link BinaryFrames}, not on the SockJS one, and frames carry {@link #CBOR_FRAME_TYPE}.
+ */
+@Slf4j
+@Component
+public class CborFrameTranscoder implements ChannelInterceptor {
+
+    public static final String ACCEPT_HEADER = "accept";
+
+    public static final MimeType CBOR_FRAME_TYPE = new MimeType("application", "octet-stream", Map.of("format", "cbor"));
+
+    static final String BINARY_FRAMES_ATTRIBUTE = CborFrameTranscoder.class.getName() + ".binaryFrames";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    // keyed by payload identity: frames recently fanned out to CBOR subscribers
+    private final Cache<byte[], byte[]> encoded = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1024)
+            .build();
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && attributes.containsKey(BINARY_FRAMES_ATTRIBUTE) && accept != null && MediaType.parseMediaTypes(accept).stream().anyMatch(MediaType.APPLICATION_CBOR::includes)) {
+            cborSessions.add(accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!SimpMessageType.MESSAGE.equals(accessor.getMessageType())
+                || !cborSessions.contains(accessor.getSessionId())
+                || !(message.getPayload() instanceof byte[] json)
+                || !isJson(accessor.getContentType())) {
+            return message;
+        }
+        try {
+            byte[] cbor = encoded.get(json, this::toCbor);
+            accessor.setContentType(CBOR_FRAME_TYPE);
+            return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+        } catch (RuntimeException e) {
+            log.warn("Failed to encode frame for {} as CBOR, sending JSON", accessor.getDestination(), e);
+            return message;
+        }
+    }
+
+    private byte[] toCbor(byte[] json) {
+        try {
+            return cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isJson(MimeType contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    /**
+     * Marks the sessions of a plain WebSocket endpoint as able to receive binary frames.
+     */
+    public static class BinaryFrames implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            attributes.put(BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.home.reminisce.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Applies the configured {@link ExecutionModel} to the servlet container, to async request
+ * processing and to server-sent event streams. The STOMP channels are configured in {@link WebSocketConfig}.
+ */
+@Slf4j
+@Configuration
+public class ExecutionConfig {
+
+    private final ExecutionModel executionModel;
+
+    @Value("${reminisce.execution.async-pool-size:8}")
+    private int asyncPoolSize;
+
+    @Value("${reminisce.execution.async-queue-capacity:1000}")
+    private int asyncQueueCapacity;
+
+    @Value("${reminisce.sse.pool-size:4}")
+    private int ssePoolSize;
+
+    @Value("${reminisce.sse.queue-capacity:1000}")
+    private int sseQueueCapacity;
+
+    public ExecutionConfig(@Value("${reminisce.execution.model:platform}") String configuredModel) {
+        this.executionModel = ExecutionModel.resolve(configuredModel);
+        if (executionModel.name().equalsIgnoreCase(configuredModel.trim())) {
+            log.info("Execution model: {}", executionModel);
+        } else {
+            log.warn("Virtual threads are not available on this JDK, falling back to bounded platform thread pools");
+        }
+    }
+
+    /**
+     * In the virtual model every request runs on its own virtual thread; otherwise Tomcat keeps
+     * its platform pool sized by server.tomcat.threads.max.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> executionModelProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (executionModel == ExecutionModel.VIRTUAL) {
+                VirtualThreads.perTaskExecutor("http-").ifPresent(protocolHandler::setExecutor);
+            }
+        };
+    }
+
+    /**
+     * Used by Spring MVC for async and streaming responses. Declared here because the STOMP
+     * channel executors keep Spring Boot from creating its default one.
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        if (executionModel == ExecutionModel.VIRTUAL) {
+            return VirtualThreads.perTaskExecutor("async-")
+                    .<AsyncTaskExecutor>map(TaskExecutorAdapter::new)
+                    .orElseThrow();
+        }
+        return executionModel.pool("async-", asyncPoolSize, asyncQueueCapacity);
+    }
+
+    /**
+     * Writes the events of open server-sent event streams. Kept apart from the async executor so
+     * that thousands of streams cannot crowd out async responses, and bounded in both models.
+     */
+    @Bean(name = "sseTaskExecutor")
+    public ThreadPoolTaskExecutor sseTaskExecutor() {
+        return executionModel.pool("sse-", ssePoolSize, sseQueueCapacity);
+    }
+}
@@ -0,0 +1,38 @@
+package com.home.reminisce.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Locale;
+
+/**
+ * How blocking work (servlet requests, STOMP channel messages, async request processing) is run:
+ * on bounded pools of platform threads, or on virtual threads that release their carrier thread
+ * while blocked on JDBC or I/O. Virtual falls back to platform on a JDK without virtual threads.
+ */
+public enum ExecutionModel {
+    PLATFORM,
+    VIRTUAL;
+
+    public static ExecutionModel resolve(String configured) {
+        ExecutionModel model = valueOf(configured.trim().toUpperCase(Locale.ROOT));
+        return model == VIRTUAL && !VirtualThreads.isSupported() ? PLATFORM : model;
+    }
+
+    /**
+     * Fixed-size pool of worker threads; virtual workers when this model uses virtual threads.
+     * With virtual workers the pool size bounds concurrency rather than memory, so it can be
+     * set much higher than for platform threads.
+     */
+    public ThreadPoolTaskExecutor pool(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        if (this == VIRTUAL) {
+            VirtualThreads.threadFactory(threadNamePrefix).ifPresent(executor::setThreadFactory);
+        }
+        return executor;
+    }
+}
@@ -1,29 +1,39 @@
 package com.home.reminisce.config;
 
+import com.home.reminisce.security.Role;
+import com.home.reminisce.security.TokenClaims;
+import com.home.reminisce.security.User;
 import com.home.reminisce.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final TokenPrincipalLoader principalLoader;
+    private final boolean statelessPrincipal;
 
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   TokenPrincipalLoader principalLoader,
+                                   @Value("${reminisce.security.stateless-principal:false}") boolean statelessPrincipal) {
+        this.jwtService = jwtService;
+        this.principalLoader = principalLoader;
+        this.statelessPrincipal = statelessPrincipal;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -33,27 +43,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String displayName;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);
-        displayName = jwtService.extractUserName(jwt); // TODO: extract the displayName from JWT;
-        if (displayName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(displayName);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        // a single (cached) verification yields subject, expiry and roles together
+        Optional<TokenClaims> claims = jwtService.parseValidToken(jwt);
+        if (claims.isPresent() && claims.get().subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = principalFromClaims(claims.get())
+                    .orElseGet(() -> principalLoader.load(claims.get().subject()));
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * In stateless mode the identity and role signed into the token are trusted as-is,
+     * so no user lookup is needed. Tokens issued before roles were embedded fall back
+     * to a (cached) user lookup.
+     */
+    private Optional<UserDetails> principalFromClaims(TokenClaims claims) {
+        if (!statelessPrincipal || claims.roles().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(User.builder()
+                    .displayName(claims.subject())
+                    .role(Role.valueOf(claims.roles().get(0)))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.home.reminisce.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times the services annotated with {@link io.micrometer.core.annotation.Timed}. Every
+ * public method gets a timer named after the annotation, tagged with class and method.
+ * Hibernate reports the statements it prepares and their execution time to the
+ * {@link SqlStatementCounter}, which the {@link SqlStatementMonitor} turns into metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting() {
+        return properties -> {
+            // an inspector configured explicitly (e.g. by a test) takes precedence
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.home.reminisce.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open entity manager in view, as Spring Boot registers it, minus the endpoints that stream a
+ * request or response body. A request's entity manager keeps the connection of its first query
+ * until the request completes, async processing included, which for those would be the whole
+ * transfer or the life of an event stream; they work in short transactions instead and never
+ * touch lazy associations.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    static final String[] STREAMING_PATHS = {
+            "/sessions/import",
+            "/participations/*/import",
+            "/sessions/*/stream",
+            "/sessions/*/export",
+            "/sessions/export"
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OpenEntityManagerInViewConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(STREAMING_PATHS);
+    }
+}
@@ -1,6 +1,8 @@
 package com.home.reminisce.config;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,6 +12,10 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
 @Configuration
 @EnableWebSecurity
@@ -34,6 +40,11 @@ public class SecurityConfiguration {
                 .permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**")
                 .permitAll()
+                // health checks and the Prometheus scrape, only on the management port, which is not exposed publicly
+                .requestMatchers(new AndRequestMatcher(SecurityConfiguration::onManagementServer,
+                        new OrRequestMatcher(new AntPathRequestMatcher("/actuator/health/**"),
+                                new AntPathRequestMatcher("/actuator/prometheus"))))
+                .permitAll()
                 .anyRequest()
                 .authenticated()
                 .and()
@@ -44,4 +55,10 @@ public class SecurityConfiguration {
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
+
+    // the actuator runs in a child context of its own when management.server.port differs from the server port
+    private static boolean onManagementServer(HttpServletRequest request) {
+        return WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()), "management");
+    }
 }
@@ -0,0 +1,34 @@
+package com.home.reminisce.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Only lets clients subscribe to concrete per-session topics. Pattern subscriptions
+ * (e.g. /topic/sessions/**) would have to be matched against every published
+ * destination and would bring back the all-clients fan-out.
+ */
+public class SessionTopicSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern SESSION_TOPIC = Pattern.compile(
+            Pattern.quote(WebSocketConfig.SESSION_TOPIC_PREFIX) + "\\d+/(comments|reactions|participants)");
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || !SESSION_TOPIC.matcher(destination).matches()) {
+                throw new MessageDeliveryException("Subscriptions are only allowed to session topics: " + destination);
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,176 @@
+package com.home.reminisce.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements of every request, security filters included, and reports them
+ * to the {@link SqlStatementMonitor}. Outside production the count and JDBC time can also be
+ * sent back in response headers, which would otherwise tell any client how much work an
+ * endpoint does. Headers cannot change once the response is committed, so they are refreshed
+ * on every write until then: they are complete for responses that fit the container's buffer,
+ * while the metrics always hold the final numbers.
+ * <p>
+ * Only statements issued through Hibernate are counted. Plain {@code JdbcTemplate} statements,
+ * such as the reaction write-behind flush, are neither in the headers nor in the metrics, and
+ * the flush runs on a thread of its own rather than in the request that queued the change.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final SqlStatementMonitor monitor;
+
+    private final boolean exposeHeaders;
+
+    public SqlStatementCountingFilter(SqlStatementMonitor monitor,
+                                      @Value("${reminisce.sql.expose-headers:false}") boolean exposeHeaders) {
+        this.monitor = monitor;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.start()) {
+            HttpServletResponse counted = exposeHeaders ? new CountingResponse(response, scope) : response;
+            try {
+                filterChain.doFilter(request, counted);
+            } finally {
+                if (counted instanceof CountingResponse countingResponse) {
+                    countingResponse.updateHeaders();
+                }
+                monitor.record(SqlStatementMonitor.HTTP, endpoint(request), scope);
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+
+        private ServletOutputStream outputStream;
+
+        private int headerStatements = -1;
+
+        CountingResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void updateHeaders() {
+            if (headerStatements != scope.statements() && !isCommitted()) {
+                headerStatements = scope.statements();
+                setHeader(STATEMENTS_HEADER, Integer.toString(scope.statements()));
+                setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", scope.jdbcNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            updateHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            updateHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            updateHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            updateHeaders();
+            super.sendError(sc);
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private final CountingResponse response;
+
+        CountingOutputStream(ServletOutputStream delegate, CountingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.updateHeaders();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.updateHeaders();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.updateHeaders();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.updateHeaders();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
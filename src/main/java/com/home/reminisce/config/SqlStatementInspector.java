@@ -0,0 +1,15 @@
+package com.home.reminisce.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds every statement Hibernate prepares into the {@link SqlStatementCounter} of the current thread.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.statementPrepared();
+        return sql;
+    }
+}
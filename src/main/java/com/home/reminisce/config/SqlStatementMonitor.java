@@ -0,0 +1,84 @@
+package com.home.reminisce.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL statements and JDBC time of one unit of work (an HTTP request or the
+ * handling of an inbound STOMP message) as metrics, and logs units of work that issue
+ * more statements than the budget, which is usually a lazy collection loaded per row.
+ * <p>
+ * As a channel interceptor it counts each inbound STOMP message per handler; hand-offs
+ * to the broker that touch no database are not recorded.
+ */
+@Slf4j
+@Component
+public class SqlStatementMonitor implements ExecutorChannelInterceptor {
+
+    static final String HTTP = "http";
+
+    static final String STOMP = "stomp";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int statementBudget;
+
+    private final ThreadLocal<SqlStatementCounter.Scope> messageScope = new ThreadLocal<>();
+
+    public SqlStatementMonitor(MeterRegistry meterRegistry,
+                               @Value("${reminisce.sql.statement-budget:20}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    public void record(String kind, String endpoint, SqlStatementCounter.Scope scope) {
+        DistributionSummary.builder("reminisce.sql.statements")
+                .description("SQL statements issued per unit of work")
+                .tags("kind", kind, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.statements());
+        Timer.builder("reminisce.sql.time")
+                .description("Time spent executing SQL per unit of work")
+                .tags("kind", kind, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.jdbcNanos(), TimeUnit.NANOSECONDS);
+        if (statementBudget > 0 && scope.statements() > statementBudget) {
+            log.warn("{} {} issued {} SQL statements ({} ms), over the budget of {}", kind, endpoint,
+                    scope.statements(), TimeUnit.NANOSECONDS.toMillis(scope.jdbcNanos()), statementBudget);
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        messageScope.set(SqlStatementCounter.start());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SqlStatementCounter.Scope scope = messageScope.get();
+        if (scope == null) {
+            return;
+        }
+        messageScope.remove();
+        scope.close();
+        if (scope.statements() > 0) {
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+            StompCommand command = accessor != null ? accessor.getCommand() : null;
+            record(STOMP, command != null ? command.name() : "UNKNOWN", scope);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.home.reminisce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Loads the principal of a request that carries an already verified token. Only this lookup is
+ * cached: logins go through the {@link UserDetailsService} directly, so a changed password or
+ * a locked account is checked against the database. Cached principals keep the name, role and
+ * account flags, never the password hash.
+ */
+@Component
+public class TokenPrincipalLoader {
+
+    private final UserDetailsService userDetailsService;
+
+    private final Cache<String, UserDetails> principals;
+
+    public TokenPrincipalLoader(UserDetailsService userDetailsService, MeterRegistry meterRegistry,
+                                @Value("${reminisce.security.user-cache-size:1000}") long cacheSize,
+                                @Value("${reminisce.security.user-cache-ttl:5m}") Duration cacheTtl) {
+        this.userDetailsService = userDetailsService;
+        // bounded and short-lived, so a changed role or a locked account is picked up within the ttl
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "users");
+    }
+
+    /**
+     * The principal of {@code username}; throws like {@link UserDetailsService#loadUserByUsername}
+     * when there is no such user, which is never cached.
+     */
+    public UserDetails load(String username) {
+        return principals.get(username, name -> withoutPassword(userDetailsService.loadUserByUsername(name)));
+    }
+
+    public void evict(String username) {
+        principals.invalidate(username);
+    }
+
+    private static UserDetails withoutPassword(UserDetails user) {
+        return User.withUsername(user.getUsername())
+                .password("")
+                .authorities(user.getAuthorities())
+                .accountExpired(!user.isAccountNonExpired())
+                .accountLocked(!user.isAccountNonLocked())
+                .credentialsExpired(!user.isCredentialsNonExpired())
+                .disabled(!user.isEnabled())
+                .build();
+    }
+}
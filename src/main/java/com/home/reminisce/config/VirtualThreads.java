@@ -0,0 +1,51 @@
+package com.home.reminisce.config;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads looked up reflectively, so the application still builds for and runs on
+ * JDK 17. Everything here is empty when the running JDK has no (enabled) virtual threads.
+ */
+final class VirtualThreads {
+
+    private static final boolean SUPPORTED = threadFactory("virtual-probe-").isPresent();
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Factory of virtual threads named prefix0, prefix1, ...
+     */
+    static Optional<ThreadFactory> threadFactory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // JDK 17, or JDK 19/20 without --enable-preview
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Executor starting a new virtual thread for every task.
+     */
+    static Optional<ExecutorService> perTaskExecutor(String namePrefix) {
+        return threadFactory(namePrefix).map(factory -> {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads are available but their executor is not", e);
+            }
+        });
+    }
+}
@@ -1,25 +1,177 @@
 package com.home.reminisce.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    public static final String SESSION_TOPIC_PREFIX = "/topic/sessions/";
+
+    // plain WebSocket without the SockJS fallback, the only endpoint that sends binary (CBOR) frames
+    public static final String BINARY_ENDPOINT = "/websocket/binary";
+
+    @Value("${reminisce.websocket.destination-cache-limit:4096}")
+    private int destinationCacheLimit;
+
+    @Value("${reminisce.websocket.broker:simple}")
+    private String brokerMode;
+
+    @Value("${reminisce.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${reminisce.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${reminisce.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${reminisce.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${reminisce.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${reminisce.websocket.permessage-deflate:true}")
+    private boolean permessageDeflate;
+
+    @Value("${reminisce.execution.model:platform}")
+    private String executionModel;
+
+    @Value("${reminisce.execution.channel-pool-size:16}")
+    private int channelPoolSize;
+
+    @Value("${reminisce.execution.channel-queue-capacity:10000}")
+    private int channelQueueCapacity;
+
+    private final WebSocketMetrics webSocketMetrics;
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    private final BoardEventReplayInterceptor replayInterceptor;
+
+    private final CborFrameTranscoder cborFrameTranscoder;
+
+    public WebSocketConfig(WebSocketMetrics webSocketMetrics, SqlStatementMonitor sqlStatementMonitor,
+                           BoardEventReplayInterceptor replayInterceptor, CborFrameTranscoder cborFrameTranscoder) {
+        this.webSocketMetrics = webSocketMetrics;
+        this.sqlStatementMonitor = sqlStatementMonitor;
+        this.replayInterceptor = replayInterceptor;
+        this.cborFrameTranscoder = cborFrameTranscoder;
+    }
+
+    public static String commentsTopic(Long sessionId) {
+        return SESSION_TOPIC_PREFIX + sessionId + "/comments";
+    }
+
+    public static String reactionsTopic(Long sessionId) {
+        return SESSION_TOPIC_PREFIX + sessionId + "/reactions";
+    }
+
+    public static String participantsTopic(Long sessionId) {
+        return SESSION_TOPIC_PREFIX + sessionId + "/participants";
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // external STOMP broker shared by all instances, so a publish on one node
+            // reaches clients connected to any other node
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            registry.enableSimpleBroker("/topic");
+        }
         registry.setApplicationDestinationPrefixes("/app");
+        // the outbound channel runs on a pool; without this two frames for one session can overtake each other
+        registry.setPreservePublishOrder(true);
+        // each live session contributes three destinations; keep the resolved
+        // subscriber cache large enough that a publish never rescans every subscription
+        registry.setCacheLimit(destinationCacheLimit);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new SessionTopicSubscriptionInterceptor(), sqlStatementMonitor, replayInterceptor);
+        registration.taskExecutor(channelExecutor("inbound", "ws-inbound-"));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // the replay interceptor holds back live frames first, so they are measured and encoded when released
+        registration.interceptors(replayInterceptor, webSocketMetrics, cborFrameTranscoder);
+        registration.taskExecutor(channelExecutor("outbound", "ws-outbound-"));
+    }
+
+    // bounded in both models: a full queue rejects the message instead of growing without limit
+    private ThreadPoolTaskExecutor channelExecutor(String channel, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = ExecutionModel.resolve(executionModel)
+                .pool(threadNamePrefix, channelPoolSize, channelQueueCapacity);
+        webSocketMetrics.monitor(channel, executor);
+        return executor;
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry
                 .addEndpoint("/websocket")
+                .setHandshakeHandler(new DeflateHandshakeHandler(permessageDeflate))
                 .setAllowedOrigins("http://localhost:3000")
                 .withSockJS();
+        registry
+                .addEndpoint(BINARY_ENDPOINT)
+                .setHandshakeHandler(new DeflateHandshakeHandler(permessageDeflate))
+                .addInterceptors(new CborFrameTranscoder.BinaryFrames())
+                .setAllowedOrigins("http://localhost:3000");
+    }
+
+    /**
+     * Compression is negotiated per connection: the container accepts permessage-deflate when
+     * the client offers it, unless it is switched off here to save CPU on the server.
+     */
+    static class DeflateHandshakeHandler extends DefaultHandshakeHandler {
+
+        static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+        private final boolean permessageDeflate;
+
+        DeflateHandshakeHandler(boolean permessageDeflate) {
+            this.permessageDeflate = permessageDeflate;
+        }
+
+        @Override
+        protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                     List<WebSocketExtension> requestedExtensions,
+                                                                     List<WebSocketExtension> supportedExtensions) {
+            List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+            if (permessageDeflate) {
+                return extensions;
+            }
+            return extensions.stream()
+                    .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                    .toList();
+        }
     }
 }
@@ -0,0 +1,179 @@
+package com.home.reminisce.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the STOMP side of the board: connected sessions, subscriptions and
+ * destinations per topic type, the depth of the channel queues and the time a frame
+ * spends being written to a client. Subscriptions are tagged by topic type only,
+ * since a tag per session destination would grow with the number of retros.
+ */
+@Component
+public class WebSocketMetrics implements ExecutorChannelInterceptor {
+
+    private static final List<String> TOPICS = List.of("comments", "reactions", "participants");
+
+    private final MeterRegistry meterRegistry;
+
+    // subscription id -> destination, per websocket session
+    private final ConcurrentMap<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicInteger> subscribers = new ConcurrentHashMap<>();
+
+    private final Timer sendTimer;
+
+    private final ThreadLocal<Timer.Sample> sendSample = new ThreadLocal<>();
+
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("reminisce.websocket.sessions", sessions, Map::size)
+                .description("Connected STOMP sessions on this instance")
+                .register(meterRegistry);
+        for (String topic : TOPICS) {
+            Gauge.builder("reminisce.websocket.subscriptions", this, metrics -> metrics.subscriptions(topic))
+                    .description("Subscriptions to session topics of this type")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            Gauge.builder("reminisce.websocket.destinations", this, metrics -> metrics.destinations(topic))
+                    .description("Session topics of this type with at least one subscriber")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("reminisce.websocket.subscribers.max", this, WebSocketMetrics::maxSubscribers)
+                .description("Subscribers of the busiest destination, i.e. the largest fan-out of one publish")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("reminisce.websocket.send")
+                .description("Time to write one outbound frame to a client session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes the queue depth and active workers of a STOMP channel executor.
+     */
+    public void monitor(String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("reminisce.websocket.queue.depth", executor, ifInitialized(e -> e.getThreadPoolExecutor().getQueue().size()))
+                .description("Messages waiting for a worker of the channel")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("reminisce.websocket.workers.active", executor, ifInitialized(ThreadPoolTaskExecutor::getActiveCount))
+                .description("Workers of the channel currently handling a message")
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        sessionId(event).ifPresent(id -> sessions.putIfAbsent(id, new ConcurrentHashMap<>()));
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || destination == null) {
+            return;
+        }
+        String previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        if (previous != null) {
+            removeSubscriber(previous);
+        }
+        subscribers.computeIfAbsent(destination, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            String destination = subscriptions.remove(accessor.getSubscriptionId());
+            if (destination != null) {
+                removeSubscriber(destination);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::removeSubscriber);
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        sendSample.set(Timer.start(meterRegistry));
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Timer.Sample sample = sendSample.get();
+        if (sample != null) {
+            sendSample.remove();
+            sample.stop(sendTimer);
+        }
+    }
+
+    int subscriptions(String topic) {
+        return subscribers.entrySet().stream()
+                .filter(entry -> topic.equals(topic(entry.getKey())))
+                .mapToInt(entry -> entry.getValue().get())
+                .sum();
+    }
+
+    int destinations(String topic) {
+        return (int) subscribers.keySet().stream().filter(destination -> topic.equals(topic(destination))).count();
+    }
+
+    int maxSubscribers() {
+        return subscribers.values().stream().mapToInt(AtomicInteger::get).max().orElse(0);
+    }
+
+    private void removeSubscriber(String destination) {
+        subscribers.computeIfPresent(destination, (key, count) -> count.decrementAndGet() > 0 ? count : null);
+    }
+
+    private static String topic(String destination) {
+        return destination.substring(destination.lastIndexOf('/') + 1);
+    }
+
+    private static Optional<String> sessionId(AbstractSubProtocolEvent event) {
+        return Optional.ofNullable(StompHeaderAccessor.wrap(event.getMessage()).getSessionId());
+    }
+
+    // the channel executors are initialized after the gauges are registered
+    private static ToDoubleFunction<ThreadPoolTaskExecutor> ifInitialized(ToDoubleFunction<ThreadPoolTaskExecutor> value) {
+        return executor -> {
+            try {
+                return value.applyAsDouble(executor);
+            } catch (IllegalStateException e) {
+                return 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.home.reminisce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One entry of a session's change log. Entries are numbered per session without gaps by
+ * {@code seq}, which is allocated from {@link Session#getChangeSeq()} in the transaction that
+ * makes the change, so a client that has seen everything up to a number can ask for the rest.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "board_change",
+        uniqueConstraints = @UniqueConstraint(name = "board_change_session_seq_uk", columnNames = {"sessionId", "seq"}))
+public class BoardChange {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private long sessionId;
+
+    private long seq;
+
+    @Enumerated(EnumType.STRING)
+    private BoardChangeType type;
+
+    private Long commentId;
+
+    private String participantName;
+
+    private Instant changedOn;
+}
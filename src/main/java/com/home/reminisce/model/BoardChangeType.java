@@ -0,0 +1,11 @@
+package com.home.reminisce.model;
+
+public enum BoardChangeType {
+    COMMENT_CREATED,
+    COMMENT_UPDATED,
+    COMMENT_DELETED,
+    REACTION_SET,
+    REACTION_CLEARED,
+    PARTICIPANT_ADDED,
+    PARTICIPANT_REMOVED
+}
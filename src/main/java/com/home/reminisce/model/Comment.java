@@ -1,7 +1,9 @@
 package com.home.reminisce.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.List;
@@ -12,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "comment_session_idx", columnList = "sessionId, createdOn, id"))
 public class Comment {
     @Id
     @GeneratedValue
@@ -21,12 +24,21 @@ public class Comment {
 
     private String authoredBy;
 
+    // keyset position of listings, so never null
+    @Column(nullable = false)
     private Instant createdOn;
 
     private String text;
 
     private Integer categoryId;
 
+    @ColumnDefault("0")
+    private long likeCount;
+
+    @ColumnDefault("0")
+    private long dislikeCount;
+
+    @JsonIgnore
     @OneToMany
     @JoinColumn(name = "commentId")
     private List<Reaction> reactions;
@@ -3,6 +3,8 @@ package com.home.reminisce.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,6 +17,10 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "participation_session_participant_idx", columnList = "sessionId, participantName"),
+        @Index(name = "participation_participant_idx", columnList = "participantName, sessionId")
+})
 public class Participation {
     @Id
     @GeneratedValue
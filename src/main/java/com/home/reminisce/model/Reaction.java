@@ -13,6 +13,7 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "reaction_comment_author_uk", columnNames = {"commentId", "authoredBy"}))
 public class Reaction {
     @Id
     @GeneratedValue
@@ -2,6 +2,7 @@ package com.home.reminisce.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "session_created_by_idx", columnList = "createdBy, createdOn DESC, id DESC"))
 public class Session {
 
     @Id
@@ -20,6 +22,8 @@ public class Session {
 
     private String name;
 
+    // keyset position of listings, so never null
+    @Column(nullable = false)
     private Instant createdOn;
 
     private Instant endedOn;
@@ -29,6 +33,11 @@ public class Session {
     @Enumerated(EnumType.STRING)
     private SessionStatus status;
 
+    // last number allocated to the session's change log; only ever advanced by an update statement
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "sessionId")
     private List<Comment> comments;
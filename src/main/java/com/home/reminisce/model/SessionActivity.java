@@ -0,0 +1,32 @@
+package com.home.reminisce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Activity of a session shown on its members' dashboards, kept in one row per session so a
+ * comment or roster change updates a single row however many members the session has. Only
+ * ever changed through update statements after it is inserted.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "session_activity")
+public class SessionActivity {
+
+    @Id
+    private long sessionId;
+
+    // keyset position of the dashboard, so never null
+    @Column(nullable = false)
+    private Instant lastActivityAt;
+
+    private long commentCount;
+
+    private long participantCount;
+}
@@ -0,0 +1,6 @@
+package com.home.reminisce.model;
+
+public enum SessionRole {
+    CREATOR,
+    PARTICIPANT
+}
@@ -0,0 +1,32 @@
+package com.home.reminisce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Membership row per (user, session) backing the "my sessions" dashboard, which joins the
+ * session and its {@link SessionActivity} to it. Only changes when members join or leave, so
+ * activity in a session never writes to its members' rows.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_session",
+        uniqueConstraints = @UniqueConstraint(name = "user_session_user_session_uk", columnNames = {"userName", "sessionId"}),
+        indexes = @Index(name = "user_session_session_idx", columnList = "sessionId"))
+public class UserSession {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String userName;
+
+    private long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    private SessionRole role;
+}
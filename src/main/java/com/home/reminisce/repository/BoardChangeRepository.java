@@ -0,0 +1,26 @@
+package com.home.reminisce.repository;
+
+import com.home.reminisce.model.BoardChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BoardChangeRepository extends JpaRepository<BoardChange, Long> {
+
+    @Query("select c from BoardChange c where c.sessionId = :sessionId and c.seq > :seq order by c.seq")
+    List<BoardChange> findChangesAfter(@Param("sessionId") long sessionId, @Param("seq") long seq, Pageable pageable);
+
+    @Modifying
+    @Query("delete from BoardChange c where c.sessionId = :sessionId and c.seq <= :seq")
+    int deleteChangesUpTo(@Param("sessionId") long sessionId, @Param("seq") long seq);
+
+    @Modifying
+    @Query("delete from BoardChange c where c.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") long sessionId);
+}
@@ -1,9 +1,92 @@
 package com.home.reminisce.repository;
 
+import com.home.reminisce.api.model.BoardComment;
+import com.home.reminisce.api.model.CommentExportRow;
 import com.home.reminisce.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // comments of a session with their counters and the :userName's own reaction
+    String BOARD_COMMENT = "select new com.home.reminisce.api.model.BoardComment(c.id, c.sessionId, c.authoredBy, " +
+            "c.createdOn, c.text, c.categoryId, c.likeCount, c.dislikeCount, r.reactionType) " +
+            "from Comment c left join Reaction r on r.commentId = c.id and r.authoredBy = :userName " +
+            "where c.sessionId = :sessionId ";
+
+    String EXPORT_ROW = "select new com.home.reminisce.api.model.CommentExportRow(s.id, s.name, c.id, c.createdOn, " +
+            "c.authoredBy, c.categoryId, c.text, c.likeCount, c.dislikeCount) " +
+            "from Comment c join Session s on s.id = c.sessionId ";
+
+    long countBySessionId(Long sessionId);
+
+    /**
+     * Comments of a session with their counters and the given user's own reaction, in one query.
+     */
+    @Query(BOARD_COMMENT + "order by c.createdOn, c.id")
+    List<BoardComment> findBoardComments(@Param("sessionId") Long sessionId, @Param("userName") String userName);
+
+    @Query(BOARD_COMMENT + "order by c.createdOn, c.id")
+    List<BoardComment> findFirstBoardComments(@Param("sessionId") Long sessionId,
+                                              @Param("userName") String userName,
+                                              Pageable pageable);
+
+    @Query(BOARD_COMMENT + "and (c.createdOn > :createdOn or (c.createdOn = :createdOn and c.id > :id)) " +
+            "order by c.createdOn, c.id")
+    List<BoardComment> findBoardCommentsAfter(@Param("sessionId") Long sessionId,
+                                              @Param("userName") String userName,
+                                              @Param("createdOn") Instant createdOn,
+                                              @Param("id") long id,
+                                              Pageable pageable);
+
+    @Query(BOARD_COMMENT + "and c.id in :ids")
+    List<BoardComment> findBoardCommentsByIdIn(@Param("sessionId") Long sessionId,
+                                               @Param("userName") String userName,
+                                               @Param("ids") Collection<Long> ids);
+
+    /**
+     * Export rows of a session in keyset chunks, each read in a transaction of its own; later
+     * chunks start after the last row of the previous one.
+     */
+    @Query(EXPORT_ROW + "where c.sessionId = :sessionId order by c.createdOn, c.id")
+    List<CommentExportRow> findFirstExportRows(@Param("sessionId") Long sessionId, Pageable pageable);
+
+    @Query(EXPORT_ROW + "where c.sessionId = :sessionId " +
+            "and (c.createdOn > :createdOn or (c.createdOn = :createdOn and c.id > :id)) " +
+            "order by c.createdOn, c.id")
+    List<CommentExportRow> findExportRowsAfter(@Param("sessionId") Long sessionId,
+                                               @Param("createdOn") Instant createdOn,
+                                               @Param("id") long id,
+                                               Pageable pageable);
+
+    @Query(EXPORT_ROW + "where " + SessionRepository.VISIBLE_TO_USER + " order by c.sessionId, c.createdOn, c.id")
+    List<CommentExportRow> findFirstExportRowsVisibleTo(@Param("userName") String userName, Pageable pageable);
+
+    @Query(EXPORT_ROW + "where " + SessionRepository.VISIBLE_TO_USER + " and (c.sessionId > :sessionId " +
+            "or (c.sessionId = :sessionId and (c.createdOn > :createdOn or (c.createdOn = :createdOn and c.id > :id)))) " +
+            "order by c.sessionId, c.createdOn, c.id")
+    List<CommentExportRow> findExportRowsVisibleToAfter(@Param("userName") String userName,
+                                                        @Param("sessionId") Long sessionId,
+                                                        @Param("createdOn") Instant createdOn,
+                                                        @Param("id") long id,
+                                                        Pageable pageable);
+
+    @Query("select c.sessionId from Comment c where c.id = :commentId")
+    Optional<Long> findSessionIdById(@Param("commentId") Long commentId);
+
+    @Modifying
+    @Query("update Comment c set c.likeCount = c.likeCount + :likeDelta, c.dislikeCount = c.dislikeCount + :dislikeDelta where c.id = :commentId")
+    int adjustReactionCounts(@Param("commentId") Long commentId,
+                             @Param("likeDelta") long likeDelta,
+                             @Param("dislikeDelta") long dislikeDelta);
 }
@@ -0,0 +1,31 @@
+package com.home.reminisce.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out ids from an entity's own generator for rows written by native statements. With the
+ * pooled sequences (increment 50) the generator reads one sequence value per 50 ids, whereas a
+ * {@code nextval} in the statement would use up a whole block of 50 ids for every row.
+ */
+@Component
+public class EntityIdAllocator {
+
+    private final EntityManager entityManager;
+
+    public EntityIdAllocator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Must be called inside a transaction, which a new block of ids is read in.
+     */
+    public long nextId(Class<?> entityClass) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Object id = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass)
+                .getIdentifierGenerator()
+                .generate(session, null);
+        return ((Number) id).longValue();
+    }
+}
@@ -2,8 +2,11 @@ package com.home.reminisce.repository;
 
 import com.home.reminisce.model.Participation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +19,13 @@ public interface ParticipationRepository extends JpaRepository<Participation, Lo
     Optional<Participation> findBySessionIdAndParticipantName(Long sessionId, String participantNames);
 
     List<Participation> findByParticipantName(String participantName);
+
+    long countBySessionId(Long sessionId);
+
+    @Query("select p.participantName from Participation p where p.sessionId = :sessionId")
+    List<String> findParticipantNamesBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query("select p.participantName from Participation p where p.sessionId = :sessionId and p.participantName in :names")
+    List<String> findParticipantNamesBySessionIdAndParticipantNameIn(@Param("sessionId") Long sessionId,
+                                                                     @Param("names") Collection<String> names);
 }
@@ -2,11 +2,49 @@ package com.home.reminisce.repository;
 
 import com.home.reminisce.model.Reaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReactionRepository extends JpaRepository<Reaction, Long> {
     List<Reaction> findByCommentIdAndAuthoredBy(Long commentId, String authoredBy);
+
+    List<Reaction> findByCommentId(Long commentId);
+
+    /**
+     * Inserts the user's reaction to a comment, or replaces it when it has a different type, in one
+     * statement relying on the (comment_id, authored_by) unique constraint. Returns nothing when the
+     * user already has a reaction of that type. The id, taken from {@link EntityIdAllocator}, is
+     * only used when a row is inserted. PostgreSQL only.
+     */
+    @Query(value = "INSERT INTO reaction (id, comment_id, authored_by, created_on, reaction_type) " +
+            "VALUES (:id, :commentId, :authoredBy, :createdOn, :reactionType) " +
+            "ON CONFLICT ON CONSTRAINT reaction_comment_author_uk DO UPDATE " +
+            "SET reaction_type = EXCLUDED.reaction_type, created_on = EXCLUDED.created_on " +
+            "WHERE reaction.reaction_type IS DISTINCT FROM EXCLUDED.reaction_type " +
+            "RETURNING id, (xmax = 0) AS inserted, " +
+            "(SELECT c.session_id FROM comment c WHERE c.id = reaction.comment_id) AS \"sessionId\"",
+            nativeQuery = true)
+    Optional<UpsertedReaction> upsert(@Param("id") Long id,
+                                      @Param("commentId") Long commentId,
+                                      @Param("authoredBy") String authoredBy,
+                                      @Param("createdOn") Instant createdOn,
+                                      @Param("reactionType") String reactionType);
+
+    interface UpsertedReaction {
+
+        Long getId();
+
+        /**
+         * False when an existing reaction of the other type was replaced.
+         */
+        boolean isInserted();
+
+        Long getSessionId();
+    }
 }
@@ -0,0 +1,34 @@
+package com.home.reminisce.repository;
+
+import com.home.reminisce.model.SessionActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SessionActivityRepository extends JpaRepository<SessionActivity, Long> {
+
+    @Modifying
+    @Query("update SessionActivity a set a.commentCount = a.commentCount + :delta, a.lastActivityAt = :at " +
+            "where a.sessionId = :sessionId")
+    int adjustCommentCount(@Param("sessionId") long sessionId, @Param("delta") long delta, @Param("at") Instant at);
+
+    @Modifying
+    @Query("update SessionActivity a set a.participantCount = :participantCount, a.lastActivityAt = :at " +
+            "where a.sessionId = :sessionId")
+    int updateParticipantCount(@Param("sessionId") long sessionId,
+                               @Param("participantCount") long participantCount,
+                               @Param("at") Instant at);
+
+    @Modifying
+    @Query("update SessionActivity a set a.lastActivityAt = :at where a.sessionId = :sessionId")
+    int touch(@Param("sessionId") long sessionId, @Param("at") Instant at);
+
+    @Modifying
+    @Query("delete from SessionActivity a where a.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") long sessionId);
+}
@@ -1,13 +1,50 @@
 package com.home.reminisce.repository;
 
+import com.home.reminisce.api.model.SessionSummary;
 import com.home.reminisce.model.Session;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long>, PagingAndSortingRepository<Session, Long> {
+
+    String VISIBLE_TO_USER = "(s.createdBy = :userName or exists " +
+            "(select p.id from Participation p where p.sessionId = s.id and p.participantName = :userName))";
+
+    String SESSION_SUMMARY = "select new com.home.reminisce.api.model.SessionSummary(s.id, s.name, s.createdOn, " +
+            "s.endedOn, s.createdBy, s.status) from Session s where " + VISIBLE_TO_USER;
+
     List<Session> findByCreatedBy(String createdBy);
+
+    @Query(SESSION_SUMMARY + " order by s.createdOn desc, s.id desc")
+    List<SessionSummary> findFirstSessionsOf(@Param("userName") String userName, Pageable pageable);
+
+    @Query(SESSION_SUMMARY +
+            " and (s.createdOn < :createdOn or (s.createdOn = :createdOn and s.id < :id))" +
+            " order by s.createdOn desc, s.id desc")
+    List<SessionSummary> findSessionsOfBefore(@Param("userName") String userName,
+                                              @Param("createdOn") Instant createdOn,
+                                              @Param("id") long id,
+                                              Pageable pageable);
+
+    /**
+     * Advances the session's change counter. The row stays locked until the transaction ends,
+     * so change numbers of a session are committed in the order they were allocated; the change
+     * log calls it just before the commit to keep that short.
+     */
+    @Modifying
+    @Query("update Session s set s.changeSeq = s.changeSeq + :count where s.id = :sessionId")
+    int advanceChangeSeq(@Param("sessionId") long sessionId, @Param("count") long count);
+
+    @Query("select s.changeSeq from Session s where s.id = :sessionId")
+    Optional<Long> findChangeSeqById(@Param("sessionId") long sessionId);
 }
@@ -0,0 +1,50 @@
+package com.home.reminisce.repository;
+
+import com.home.reminisce.api.model.DashboardEntry;
+import com.home.reminisce.model.SessionRole;
+import com.home.reminisce.model.UserSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
+
+    // memberships come from the user's index entries; activity is sorted per user, whose sessions number in the tens
+    String DASHBOARD_ENTRY = "select new com.home.reminisce.api.model.DashboardEntry(us.sessionId, s.name, s.status, " +
+            "s.createdOn, us.role, a.lastActivityAt, a.commentCount, a.participantCount) " +
+            "from UserSession us join Session s on s.id = us.sessionId " +
+            "join SessionActivity a on a.sessionId = us.sessionId where us.userName = :userName";
+
+    @Query(DASHBOARD_ENTRY + " order by a.lastActivityAt desc, us.sessionId desc")
+    List<DashboardEntry> findFirstDashboardEntries(@Param("userName") String userName, Pageable pageable);
+
+    @Query(DASHBOARD_ENTRY +
+            " and (a.lastActivityAt < :lastActivityAt or (a.lastActivityAt = :lastActivityAt and us.sessionId < :sessionId))" +
+            " order by a.lastActivityAt desc, us.sessionId desc")
+    List<DashboardEntry> findDashboardEntriesBefore(@Param("userName") String userName,
+                                                    @Param("lastActivityAt") Instant lastActivityAt,
+                                                    @Param("sessionId") long sessionId,
+                                                    Pageable pageable);
+
+    @Query("select us.userName from UserSession us where us.sessionId = :sessionId and us.userName in :userNames")
+    List<String> findUserNamesBySessionIdAndUserNameIn(@Param("sessionId") long sessionId,
+                                                       @Param("userNames") Collection<String> userNames);
+
+    @Modifying
+    @Query("delete from UserSession us where us.sessionId = :sessionId and us.role = :role and us.userName in :userNames")
+    int deleteMembers(@Param("sessionId") long sessionId,
+                      @Param("role") SessionRole role,
+                      @Param("userNames") Collection<String> userNames);
+
+    @Modifying
+    @Query("delete from UserSession us where us.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") long sessionId);
+}
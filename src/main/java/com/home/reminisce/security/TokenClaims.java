@@ -0,0 +1,11 @@
+package com.home.reminisce.security;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TokenClaims(String subject, Instant expiresAt, List<String> roles) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
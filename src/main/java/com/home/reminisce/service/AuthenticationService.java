@@ -1,7 +1,9 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.config.TokenPrincipalLoader;
 import com.home.reminisce.repository.UserRepository;
 import com.home.reminisce.security.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -9,6 +11,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("reminisce.service")
 @RequiredArgsConstructor
 public class AuthenticationService {
 
@@ -16,6 +19,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenPrincipalLoader principalLoader;
 
     public AuthenticationResponse register(RegisterRequest request) {
         var user = User.builder()
@@ -24,6 +28,7 @@ public class AuthenticationService {
                 .role(Role.USER)
                 .build();
         userRepository.save(user);
+        principalLoader.evict(user.getDisplayName());
         var jwtToken = jwtService.generateToken(user);
         return AuthenticationResponse.builder().token(jwtToken).build();
     }
@@ -0,0 +1,171 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.BoardChange;
+import com.home.reminisce.model.BoardChangeType;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.repository.BoardChangeRepository;
+import com.home.reminisce.repository.SessionRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * Per-session change log behind incremental board syncs. Changes are written in the transaction
+ * of the mutation they describe and numbered from the session's change counter, whose row lock
+ * keeps the numbers of one session in commit order. Inside a transaction the changes are only
+ * collected, and numbered and written just before it commits: the counter row stays locked for
+ * the commit alone rather than for the rest of the mutation, each session's counter is advanced
+ * once per transaction, and sessions are taken in id order so that transactions touching several
+ * sessions cannot deadlock on their counters.
+ * <p>
+ * Only the latest {@code retained} entries of a session are kept: a client further behind than
+ * that is better served by a full snapshot, so older entries are pruned as new ones are written.
+ */
+@Component
+@Transactional
+public class BoardChangeLog {
+
+    // older entries are pruned once every this many changes of a session
+    private static final int PRUNE_INTERVAL = 100;
+
+    private final BoardChangeRepository boardChangeRepository;
+
+    private final SessionRepository sessionRepository;
+
+    private final int retained;
+
+    public BoardChangeLog(BoardChangeRepository boardChangeRepository, SessionRepository sessionRepository,
+                          @Value("${reminisce.changes.retained:500}") int retained) {
+        this.boardChangeRepository = boardChangeRepository;
+        this.sessionRepository = sessionRepository;
+        this.retained = retained;
+    }
+
+    public void commentCreated(Comment comment) {
+        commentsChanged(comment.getSessionId(), BoardChangeType.COMMENT_CREATED, List.of(comment.getId()));
+    }
+
+    public void commentUpdated(Comment comment) {
+        commentsChanged(comment.getSessionId(), BoardChangeType.COMMENT_UPDATED, List.of(comment.getId()));
+    }
+
+    public void commentDeleted(Comment comment) {
+        commentsChanged(comment.getSessionId(), BoardChangeType.COMMENT_DELETED, List.of(comment.getId()));
+    }
+
+    public void reactionsSet(Long sessionId, List<Long> commentIds) {
+        commentsChanged(sessionId, BoardChangeType.REACTION_SET, commentIds);
+    }
+
+    public void reactionCleared(Long sessionId, Long commentId) {
+        commentsChanged(sessionId, BoardChangeType.REACTION_CLEARED, List.of(commentId));
+    }
+
+    public void participantsAdded(Long sessionId, Collection<String> participantNames) {
+        record(sessionId, BoardChangeType.PARTICIPANT_ADDED, List.copyOf(participantNames), BoardChange.BoardChangeBuilder::participantName);
+    }
+
+    public void participantsRemoved(Long sessionId, Collection<String> participantNames) {
+        record(sessionId, BoardChangeType.PARTICIPANT_REMOVED, List.copyOf(participantNames), BoardChange.BoardChangeBuilder::participantName);
+    }
+
+    public void sessionDeleted(Long sessionId) {
+        Map<Long, List<BoardChange.BoardChangeBuilder>> pending = pendingChanges(false);
+        if (pending != null) {
+            pending.remove(sessionId);
+        }
+        boardChangeRepository.deleteBySessionId(sessionId);
+    }
+
+    /**
+     * Up to {@code limit} changes of the session numbered after {@code seq}, in order.
+     */
+    public List<BoardChange> changesAfter(long sessionId, long seq, int limit) {
+        return boardChangeRepository.findChangesAfter(sessionId, seq, PageRequest.of(0, limit));
+    }
+
+    public int retained() {
+        return retained;
+    }
+
+    private void commentsChanged(Long sessionId, BoardChangeType type, List<Long> commentIds) {
+        record(sessionId, type, commentIds, BoardChange.BoardChangeBuilder::commentId);
+    }
+
+    private <T> void record(Long sessionId, BoardChangeType type, List<T> subjects,
+                            BiFunction<BoardChange.BoardChangeBuilder, T, BoardChange.BoardChangeBuilder> subject) {
+        if (sessionId == null || subjects.isEmpty()) {
+            return;
+        }
+        Instant changedOn = Instant.now();
+        List<BoardChange.BoardChangeBuilder> changes = subjects.stream()
+                .map(value -> subject.apply(BoardChange.builder().type(type).changedOn(changedOn), value))
+                .toList();
+        Map<Long, List<BoardChange.BoardChangeBuilder>> pending = pendingChanges(true);
+        if (pending != null) {
+            pending.computeIfAbsent(sessionId, id -> new ArrayList<>()).addAll(changes);
+        } else {
+            write(sessionId, changes);
+        }
+    }
+
+    /**
+     * The changes collected in the current transaction by session, or null outside of one.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<BoardChange.BoardChangeBuilder>> pendingChanges(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, List<BoardChange.BoardChangeBuilder>> pending =
+                (Map<Long, List<BoardChange.BoardChangeBuilder>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Map<Long, List<BoardChange.BoardChangeBuilder>> collected = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    collected.forEach(BoardChangeLog.this::write);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(BoardChangeLog.this);
+                }
+            });
+            pending = collected;
+        }
+        return pending;
+    }
+
+    private void write(Long sessionId, List<BoardChange.BoardChangeBuilder> subjects) {
+        if (sessionRepository.advanceChangeSeq(sessionId, subjects.size()) == 0) {
+            return;
+        }
+        long last = sessionRepository.findChangeSeqById(sessionId).orElseThrow();
+        long first = last - subjects.size() + 1;
+        // entries that would be pruned straight away are only counted, e.g. for a large roster import
+        List<BoardChange> changes = new ArrayList<>();
+        for (long seq = Math.max(first, last - retained + 1); seq <= last; seq++) {
+            changes.add(subjects.get((int) (seq - first))
+                    .sessionId(sessionId)
+                    .seq(seq)
+                    .build());
+        }
+        boardChangeRepository.saveAll(changes);
+        if ((first - 1) / PRUNE_INTERVAL != last / PRUNE_INTERVAL) {
+            boardChangeRepository.deleteChangesUpTo(sessionId, last - retained);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.ReactionDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers board events per destination for a short window and sends them as one frame
+ * holding the list of events. Reaction changes on the same comment are folded into a
+ * single net {@link ReactionDelta}, so a burst of toggles costs one frame per window.
+ * A window of 0 sends every event straight away (still wrapped in a list).
+ * Sent frames are kept in the {@link BoardEventReplayBuffer} for clients that reconnect
+ * and are passed on to the {@link BoardEventStreams} of the session.
+ */
+@Slf4j
+@Component
+public class BoardEventCoalescer {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final BoardEventReplayBuffer replayBuffer;
+
+    private final BoardEventStreams eventStreams;
+
+    private final long windowMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, PendingFrame> pendingFrames = new ConcurrentHashMap<>();
+
+    private final Counter eventsReceived;
+
+    private final Counter framesSent;
+
+    private final DistributionSummary batchSize;
+
+    public BoardEventCoalescer(SimpMessagingTemplate messagingTemplate,
+                               BoardEventReplayBuffer replayBuffer,
+                               BoardEventStreams eventStreams,
+                               MeterRegistry meterRegistry,
+                               @Value("${reminisce.websocket.coalesce-window-ms:50}") long windowMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.replayBuffer = replayBuffer;
+        this.eventStreams = eventStreams;
+        this.windowMillis = windowMillis;
+        this.scheduler = windowMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(daemonThreadFactory())
+                : null;
+        this.eventsReceived = Counter.builder("reminisce.websocket.events")
+                .description("Board events handed to the coalescer")
+                .register(meterRegistry);
+        this.framesSent = Counter.builder("reminisce.websocket.frames")
+                .description("Batched frames sent to the broker")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("reminisce.websocket.batch.size")
+                .description("Number of events folded into one frame")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("reminisce.websocket.coalesce.window", () -> windowMillis)
+                .description("Coalescing window in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("reminisce.websocket.pending.destinations", pendingFrames, Map::size)
+                .description("Destinations with a frame waiting for its window to close")
+                .register(meterRegistry);
+    }
+
+    public void publish(String destination, Object event) {
+        eventsReceived.increment();
+        pendingFrames.compute(destination, (key, frame) -> {
+            PendingFrame pending = frame != null ? frame : open(key);
+            pending.add(event);
+            return pending;
+        });
+        sendIfUnbuffered(destination);
+    }
+
+    public void publishReaction(String destination, Long commentId, long likeDelta, long dislikeDelta) {
+        eventsReceived.increment();
+        pendingFrames.compute(destination, (key, frame) -> {
+            PendingFrame pending = frame != null ? frame : open(key);
+            pending.addReaction(commentId, likeDelta, dislikeDelta);
+            return pending;
+        });
+        sendIfUnbuffered(destination);
+    }
+
+    public void flushAll() {
+        pendingFrames.keySet().forEach(this::flush);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushAll();
+    }
+
+    void flush(String destination) {
+        PendingFrame frame = pendingFrames.remove(destination);
+        if (frame == null) {
+            return;
+        }
+        List<Object> payload = frame.payload();
+        if (payload.isEmpty()) {
+            return;
+        }
+        long seq = 0;
+        try {
+            if (replayBuffer.enabled()) {
+                // kept before it is sent, so a subscriber that missed it live finds it on replay
+                seq = replayBuffer.append(destination, payload);
+                messagingTemplate.convertAndSend(destination, payload,
+                        Map.<String, Object>of(BoardEventReplayBuffer.SEQ_HEADER, Long.toString(seq)));
+            } else {
+                messagingTemplate.convertAndSend(destination, payload);
+            }
+            framesSent.increment();
+            batchSize.record(frame.received);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} board events to {}", frame.received, destination, e);
+        }
+        eventStreams.send(destination, seq, payload);
+    }
+
+    private PendingFrame open(String destination) {
+        if (scheduler != null) {
+            scheduler.schedule(() -> flush(destination), windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return new PendingFrame();
+    }
+
+    private void sendIfUnbuffered(String destination) {
+        if (scheduler == null) {
+            flush(destination);
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("board-events-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private static final class PendingFrame {
+
+        private final List<Object> events = new ArrayList<>();
+
+        private final Map<Long, long[]> reactionDeltas = new LinkedHashMap<>();
+
+        private int received;
+
+        void add(Object event) {
+            events.add(event);
+            received++;
+        }
+
+        void addReaction(Long commentId, long likeDelta, long dislikeDelta) {
+            long[] delta = reactionDeltas.computeIfAbsent(commentId, id -> new long[2]);
+            delta[0] += likeDelta;
+            delta[1] += dislikeDelta;
+            received++;
+        }
+
+        List<Object> payload() {
+            List<Object> payload = new ArrayList<>(events);
+            reactionDeltas.forEach((commentId, delta) -> {
+                if (delta[0] != 0 || delta[1] != 0) {
+                    payload.add(new ReactionDelta(commentId, delta[0], delta[1]));
+                }
+            });
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.ParticipantsEvent;
+import com.home.reminisce.config.WebSocketConfig;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.ReactionType;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Pushes board events to the topics of the session they belong to, so that only the
+ * clients subscribed to that session receive them. Events go through the
+ * {@link BoardEventCoalescer}, which batches them into one frame per window.
+ */
+@Service
+public class BoardEventPublisher {
+
+    private final BoardEventCoalescer coalescer;
+
+    public BoardEventPublisher(BoardEventCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    public void commentCreated(Comment comment) {
+        coalescer.publish(WebSocketConfig.commentsTopic(comment.getSessionId()), comment);
+    }
+
+    public void reactionChanged(Long sessionId, Long commentId, ReactionType previous, ReactionType current) {
+        coalescer.publishReaction(WebSocketConfig.reactionsTopic(sessionId), commentId,
+                count(current, ReactionType.LIKE) - count(previous, ReactionType.LIKE),
+                count(current, ReactionType.DISLIKE) - count(previous, ReactionType.DISLIKE));
+    }
+
+    public void participantsAdded(Long sessionId, List<Participation> participations) {
+        participantNamesAdded(sessionId, participations.stream().map(Participation::getParticipantName).toList());
+    }
+
+    public void participantNamesAdded(Long sessionId, List<String> added) {
+        coalescer.publish(WebSocketConfig.participantsTopic(sessionId),
+                new ParticipantsEvent(sessionId, added, List.of()));
+    }
+
+    public void participantsRemoved(Long sessionId, List<String> participants) {
+        coalescer.publish(WebSocketConfig.participantsTopic(sessionId),
+                new ParticipantsEvent(sessionId, List.of(), participants));
+    }
+
+    private static long count(ReactionType reactionType, ReactionType counted) {
+        return counted.equals(reactionType) ? 1 : 0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.home.reminisce.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the last few frames sent to each session topic so a client that reconnects can
+ * be sent what it missed instead of reloading the board. Every frame gets a sequence
+ * number of its destination, sent along in the {@value #SEQ_HEADER} header.
+ * <p>
+ * Numbering of a destination starts from the wall clock, so it keeps growing across an
+ * idle buffer being dropped or a restart and a cursor from before either reads as a gap.
+ * Only the in-process simple broker is covered: with the relay, other instances publish
+ * to the same topics and their frames never pass through this buffer.
+ */
+@Component
+public class BoardEventReplayBuffer {
+
+    public static final String SEQ_HEADER = "seq";
+
+    private final int capacity;
+
+    private final Cache<String, Ring> rings;
+
+    public BoardEventReplayBuffer(MeterRegistry meterRegistry,
+                                  @Value("${reminisce.websocket.broker:simple}") String brokerMode,
+                                  @Value("${reminisce.websocket.replay.frames:100}") int capacity,
+                                  @Value("${reminisce.websocket.replay.idle-ttl:10m}") Duration idleTtl,
+                                  @Value("${reminisce.websocket.destination-cache-limit:4096}") int maxDestinations) {
+        this.capacity = "relay".equalsIgnoreCase(brokerMode) ? 0 : capacity;
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(maxDestinations)
+                .expireAfterAccess(idleTtl)
+                .build();
+        Gauge.builder("reminisce.websocket.replay.destinations", rings, Cache::estimatedSize)
+                .description("Session topics with frames kept for replay")
+                .register(meterRegistry);
+    }
+
+    public boolean enabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Keeps the frame for replay and returns its sequence number.
+     */
+    public long append(String destination, Object payload) {
+        return ring(destination).append(payload, capacity);
+    }
+
+    /**
+     * Number of the last frame sent to the destination, which starts its numbering if
+     * nothing was sent to it yet.
+     */
+    public long lastSeq(String destination) {
+        return ring(destination).lastSeq();
+    }
+
+    /**
+     * Frames of the destination numbered after {@code seq}, or empty when they are no longer
+     * all kept (or the cursor is not one of this buffer's) and the client has to resync.
+     */
+    public Optional<List<Frame>> framesAfter(String destination, long seq) {
+        Ring ring = rings.getIfPresent(destination);
+        return ring != null ? ring.framesAfter(seq) : Optional.empty();
+    }
+
+    private Ring ring(String destination) {
+        return rings.get(destination, key -> new Ring(System.currentTimeMillis() * 1000));
+    }
+
+    public record Frame(long seq, Object payload) {
+    }
+
+    private static final class Ring {
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        private long lastSeq;
+
+        Ring(long lastSeq) {
+            this.lastSeq = lastSeq;
+        }
+
+        synchronized long append(Object payload, int capacity) {
+            if (frames.size() == capacity) {
+                frames.removeFirst();
+            }
+            frames.addLast(new Frame(++lastSeq, payload));
+            return lastSeq;
+        }
+
+        synchronized long lastSeq() {
+            return lastSeq;
+        }
+
+        synchronized Optional<List<Frame>> framesAfter(long seq) {
+            long oldest = frames.isEmpty() ? lastSeq + 1 : frames.getFirst().seq();
+            if (seq > lastSeq || seq < oldest - 1) {
+                return Optional.empty();
+            }
+            return Optional.of(frames.stream().filter(frame -> frame.seq() > seq).toList());
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.home.reminisce.config.WebSocketConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Server-sent event streams of a session's board, fed with the same frames the
+ * {@link BoardEventCoalescer} sends to the STOMP topics. A frame is sent as an event named
+ * after its topic (comments, reactions or participants) holding the same JSON list.
+ * <p>
+ * While frames are numbered by the {@link BoardEventReplayBuffer}, each event id is the cursor
+ * {@code <comments seq>.<reactions seq>.<participants seq>}, so a client reconnecting with it as
+ * {@code Last-Event-ID} is sent the frames it missed, or a {@value #RESYNC_EVENT} event when
+ * they are no longer kept. An open stream holds no request thread: events are written from the
+ * event stream executor, one stream at a time, and a stream that falls too far behind is closed
+ * for the client to reconnect and resume. When that executor is full the stream keeps its events
+ * and is retried on the next heartbeat.
+ */
+@Slf4j
+@Component
+public class BoardEventStreams {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final List<String> TOPICS = List.of("comments", "reactions", "participants");
+
+    private final BoardEventReplayBuffer replayBuffer;
+
+    private final ObjectMapper objectMapper;
+
+    private final AsyncTaskExecutor executor;
+
+    private final Duration timeout;
+
+    private final int maxPending;
+
+    private final ScheduledExecutorService heartbeats;
+
+    private final ConcurrentMap<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+
+    private final Counter slowStreamsClosed;
+
+    private final Counter drainsDeferred;
+
+    public BoardEventStreams(BoardEventReplayBuffer replayBuffer, ObjectMapper objectMapper,
+                             @Qualifier("sseTaskExecutor") AsyncTaskExecutor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${reminisce.sse.timeout:30m}") Duration timeout,
+                             @Value("${reminisce.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${reminisce.sse.max-pending:256}") int maxPending) {
+        this.replayBuffer = replayBuffer;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        Gauge.builder("reminisce.sse.streams", streams, open -> open.values().stream().mapToInt(Set::size).sum())
+                .description("Open board event streams on this instance")
+                .register(meterRegistry);
+        this.slowStreamsClosed = Counter.builder("reminisce.sse.closed.slow")
+                .description("Streams closed because the client fell too far behind")
+                .register(meterRegistry);
+        this.drainsDeferred = Counter.builder("reminisce.sse.deferred")
+                .description("Stream writes put off to the next heartbeat because the event stream executor was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the session's board events, resuming after {@code lastEventId} when
+     * the client sent one.
+     */
+    public SseEmitter open(long sessionId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Stream stream = new Stream(sessionId, emitter);
+        emitter.onCompletion(() -> close(stream));
+        emitter.onTimeout(() -> close(stream));
+        emitter.onError(e -> close(stream));
+        // registered before the cursor is read, so a frame is either replayed or sent live;
+        // the stream lock holds live frames back until the replay is queued
+        synchronized (stream) {
+            streams.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+            if (replayBuffer.enabled()) {
+                for (int topic = 0; topic < TOPICS.size(); topic++) {
+                    stream.cursor[topic] = replayBuffer.lastSeq(topic(sessionId, topic));
+                }
+            }
+            if (lastEventId != null && !replay(stream, lastEventId)) {
+                SseEmitter.SseEventBuilder resync = SseEmitter.event().name(RESYNC_EVENT).data("{}");
+                stream.enqueue(replayBuffer.enabled() ? resync.id(stream.eventId()) : resync);
+            }
+        }
+        stream.drainLater();
+        return emitter;
+    }
+
+    /**
+     * Sends a frame the coalescer just sent to {@code destination}; {@code seq} is its number,
+     * or 0 when frames are not numbered.
+     */
+    public void send(String destination, long seq, List<Object> payload) {
+        Optional<Long> sessionId = sessionId(destination);
+        int topic = TOPICS.indexOf(destination.substring(destination.lastIndexOf('/') + 1));
+        Collection<Stream> open = sessionId.isPresent() && topic >= 0
+                ? streams.getOrDefault(sessionId.get(), Set.of())
+                : Set.of();
+        if (open.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize board events of {} for event streams", destination, e);
+            return;
+        }
+        for (Stream stream : open) {
+            stream.send(topic, seq, data);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        streams.values().forEach(open -> open.forEach(stream -> stream.emitter.complete()));
+    }
+
+    private boolean replay(Stream stream, String lastEventId) {
+        if (!replayBuffer.enabled()) {
+            return false;
+        }
+        String[] seqs = lastEventId.trim().split("\\.");
+        if (seqs.length != TOPICS.size()) {
+            return false;
+        }
+        List<List<BoardEventReplayBuffer.Frame>> missed = new ArrayList<>();
+        for (int topic = 0; topic < TOPICS.size(); topic++) {
+            Optional<List<BoardEventReplayBuffer.Frame>> frames;
+            try {
+                frames = replayBuffer.framesAfter(topic(stream.sessionId, topic), Long.parseLong(seqs[topic]));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (frames.isEmpty()) {
+                return false;
+            }
+            missed.add(frames.get());
+        }
+        for (int topic = 0; topic < TOPICS.size(); topic++) {
+            stream.cursor[topic] = Long.parseLong(seqs[topic]);
+            for (BoardEventReplayBuffer.Frame frame : missed.get(topic)) {
+                try {
+                    stream.send(topic, frame.seq(), objectMapper.writeValueAsString(frame.payload()));
+                } catch (JsonProcessingException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // runs on the heartbeat thread, so it never writes to a client itself. Streams whose events
+    // were left queued are scheduled first, and heartbeats are skipped while the executor is full,
+    // so they never take the place of events.
+    private void heartbeat() {
+        List<Stream> open = streams.values().stream().flatMap(Set::stream).toList();
+        boolean full = false;
+        for (Stream stream : open) {
+            full |= !stream.drainLater();
+        }
+        if (!full) {
+            open.forEach(Stream::heartbeat);
+        }
+    }
+
+    private void close(Stream stream) {
+        streams.computeIfPresent(stream.sessionId, (id, open) -> {
+            open.remove(stream);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    private static Optional<Long> sessionId(String destination) {
+        if (!destination.startsWith(WebSocketConfig.SESSION_TOPIC_PREFIX)) {
+            return Optional.empty();
+        }
+        String rest = destination.substring(WebSocketConfig.SESSION_TOPIC_PREFIX.length());
+        int slash = rest.indexOf('/');
+        try {
+            return slash > 0 ? Optional.of(Long.parseLong(rest.substring(0, slash))) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String topic(long sessionId, int topic) {
+        return WebSocketConfig.SESSION_TOPIC_PREFIX + sessionId + "/" + TOPICS.get(topic);
+    }
+
+    private final class Stream {
+
+        private final long sessionId;
+
+        private final SseEmitter emitter;
+
+        // seq of the last frame queued per topic
+        private final long[] cursor = new long[TOPICS.size()];
+
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+
+        private boolean draining;
+
+        private boolean closed;
+
+        Stream(long sessionId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+        }
+
+        void send(int topic, long seq, String data) {
+            synchronized (this) {
+                // a frame numbered at or before the cursor was already replayed
+                if (seq != 0 && seq <= cursor[topic]) {
+                    return;
+                }
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(TOPICS.get(topic)).data(data);
+                if (seq != 0) {
+                    cursor[topic] = seq;
+                    event.id(eventId());
+                }
+                enqueue(event);
+            }
+            drainLater();
+        }
+
+        // callers hold the stream lock
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= maxPending) {
+                closed = true;
+                pending.clear();
+                slowStreamsClosed.increment();
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+        }
+
+        // an idle stream gets a heartbeat comment, dropped if it cannot be scheduled; a busy one needs none
+        void heartbeat() {
+            SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().comment("heartbeat");
+            synchronized (this) {
+                if (draining || !pending.isEmpty()) {
+                    return;
+                }
+                enqueue(heartbeat);
+            }
+            if (!drainLater()) {
+                synchronized (this) {
+                    pending.remove(heartbeat);
+                }
+            }
+        }
+
+        String eventId() {
+            return Arrays.stream(cursor).mapToObj(Long::toString).collect(Collectors.joining("."));
+        }
+
+        // false when the executor was full and the events stay queued
+        boolean drainLater() {
+            synchronized (this) {
+                if (draining || pending.isEmpty()) {
+                    return true;
+                }
+                draining = true;
+            }
+            try {
+                executor.execute(this::drain);
+                return true;
+            } catch (TaskRejectedException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                // the events stay queued, bounded by maxPending, for the next send or heartbeat
+                drainsDeferred.increment();
+                log.debug("Event stream of session {} could not be scheduled, retrying on the next heartbeat", sessionId);
+                return false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away; completion callbacks unregister the stream
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
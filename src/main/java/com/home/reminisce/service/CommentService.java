@@ -1,6 +1,8 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardComment;
 import com.home.reminisce.api.model.CommentRequest;
+import com.home.reminisce.api.model.CursorPage;
 import com.home.reminisce.model.Comment;
 
 public interface CommentService {
@@ -9,4 +11,6 @@ public interface CommentService {
     void deleteComment(Long id);
 
     Comment updateComment(CommentRequest comment, Long id);
+
+    CursorPage<BoardComment> getCommentsPage(Long sessionId, String cursor, int size);
 }
@@ -1,40 +1,61 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardComment;
 import com.home.reminisce.api.model.CommentRequest;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.PageCursor;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Comment;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.repository.CommentRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Timed("reminisce.service")
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
 
     private final SessionService sessionService;
 
-    private final ParticipationService participationService;
+    private final SessionMembershipIndex membershipIndex;
 
-    public CommentServiceImpl(CommentRepository commentRepository, SessionService sessionService, ParticipationService participationService) {
+    private final UserSessionService userSessionService;
+
+    private final CompletedBoardCache completedBoards;
+
+    private final BoardChangeLog changeLog;
+
+    public CommentServiceImpl(CommentRepository commentRepository, SessionService sessionService,
+                              SessionMembershipIndex membershipIndex, UserSessionService userSessionService,
+                              CompletedBoardCache completedBoards, BoardChangeLog changeLog) {
         this.commentRepository = commentRepository;
         this.sessionService = sessionService;
-        this.participationService = participationService;
+        this.membershipIndex = membershipIndex;
+        this.userSessionService = userSessionService;
+        this.completedBoards = completedBoards;
+        this.changeLog = changeLog;
     }
 
     @Override
+    @Transactional
     public Comment createComment(CommentRequest commentRequest) {
         Session session = sessionService.findById(commentRequest.sessionId());
         if (!isAuthorizedToComment(session)) {
             throw new UnauthorizedAccessException("You are not authorized to comment in this session");
         }
-        return commentRepository.save(Comment.builder()
+        Comment comment = commentRepository.save(Comment.builder()
                 .sessionId(commentRequest.sessionId())
                 .text(commentRequest.text())
                 .categoryId(commentRequest.categoryId())
@@ -42,15 +63,23 @@ public class CommentServiceImpl implements CommentService {
                 .createdOn(Instant.now())
                 .reactions(new ArrayList<>())
                 .build());
+        changeLog.commentCreated(comment);
+        completedBoards.invalidate(commentRequest.sessionId());
+        userSessionService.commentAdded(commentRequest.sessionId());
+        return comment;
     }
 
     @Override
+    @Transactional
     public void deleteComment(Long id) {
         Optional<Comment> commentOptional = commentRepository.findById(id);
         if (commentOptional.isPresent()) {
             Comment comment = commentOptional.get();
             if (comment.getAuthoredBy().equals(SecurityContextHolder.getContext().getAuthentication().getName())) {
                 commentRepository.delete(commentOptional.get());
+                changeLog.commentDeleted(comment);
+                completedBoards.invalidate(comment.getSessionId());
+                userSessionService.commentRemoved(comment.getSessionId());
             } else {
                 throw new UnauthorizedAccessException("You are not authorized to delete this comment.");
             }
@@ -60,6 +89,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public Comment updateComment(CommentRequest commentRequest, Long id) {
         Optional<Comment> commentOptional = commentRepository.findById(id);
         if (commentOptional.isPresent()) {
@@ -67,7 +97,11 @@ public class CommentServiceImpl implements CommentService {
             if (comment.getAuthoredBy().equals(SecurityContextHolder.getContext().getAuthentication().getName())) {
                 comment.setText(commentRequest.text());
                 comment.setCategoryId(commentRequest.categoryId());
-                return commentRepository.save(comment);
+                Comment updated = commentRepository.save(comment);
+                changeLog.commentUpdated(updated);
+                completedBoards.invalidate(comment.getSessionId());
+                userSessionService.commentUpdated(comment.getSessionId());
+                return updated;
             } else {
                 throw new UnauthorizedAccessException("You are not authorized to update this comment.");
             }
@@ -76,10 +110,23 @@ public class CommentServiceImpl implements CommentService {
         }
     }
 
-    private boolean isAuthorizedToComment(Session session) {
+    @Override
+    public CursorPage<BoardComment> getCommentsPage(Long sessionId, String cursor, int size) {
+        // resolves the session and rejects callers who are not members
+        sessionService.findById(sessionId);
         String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
-        return Optional.ofNullable(session.getCreatedBy()).orElse("").equals(authenticatedUser)
-                || participationService.getParticipations(session.getId()).stream()
-                .anyMatch(participation -> participation.getParticipantName().equals(authenticatedUser));
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BoardComment> rows;
+        if (cursor == null) {
+            rows = commentRepository.findFirstBoardComments(sessionId, authenticatedUser, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = commentRepository.findBoardCommentsAfter(sessionId, authenticatedUser, after.timestamp(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, row -> new PageCursor(row.createdOn(), row.id()));
+    }
+
+    private boolean isAuthorizedToComment(Session session) {
+        return membershipIndex.isMember(session, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 }
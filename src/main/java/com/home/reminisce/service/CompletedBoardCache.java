@@ -0,0 +1,154 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.SerializedBoard;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized boards of completed sessions. A board is serialized and gzipped once per viewer
+ * (the snapshot carries the viewer's own reactions) and served from memory until a comment or
+ * reaction of the session changes. Concurrent first reads of a board wait for one computation.
+ * Memory is bounded by the bytes held; the ttl bounds staleness when another instance changes a board.
+ */
+@Component
+public class CompletedBoardCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<BoardKey, SerializedBoard> boards;
+
+    // viewers with a cached board per session, so a session is invalidated without scanning the cache
+    private final ConcurrentMap<Long, Set<String>> viewers = new ConcurrentHashMap<>();
+
+    public CompletedBoardCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${reminisce.boards.completed-cache.max-bytes:67108864}") long maxBytes,
+                               @Value("${reminisce.boards.completed-cache.ttl:1h}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.boards = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((BoardKey key, SerializedBoard board) -> board.size())
+                .expireAfterWrite(ttl)
+                // runs atomically with the eviction, like every other change of the viewer index
+                .evictionListener((BoardKey key, SerializedBoard board, RemovalCause cause) -> removeViewer(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "completed.boards");
+        Gauge.builder("reminisce.boards.completed-cache.bytes", boards,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Bytes of serialized boards held in memory")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the viewer's serialized board, building and serializing it on the first read.
+     */
+    public SerializedBoard get(long sessionId, String viewer, Supplier<BoardSnapshot> board) {
+        return boards.get(new BoardKey(sessionId, viewer), key -> {
+            // registered before the board is read, so an invalidation during the read finds the key
+            addViewer(key);
+            return serialize(board.get());
+        });
+    }
+
+    /**
+     * Drops every cached board of the session. Inside a transaction they are dropped again once
+     * the transaction completes, so a concurrent reader cannot re-cache a board as it was before the commit.
+     */
+    public void invalidate(Long sessionId) {
+        invalidateNow(sessionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateNow(sessionId);
+                }
+            });
+        }
+    }
+
+    private void invalidateNow(Long sessionId) {
+        Set<String> cached = viewers.get(sessionId);
+        if (cached == null) {
+            return;
+        }
+        // under the lock of each key, so a board being read is dropped once it is stored
+        for (String viewer : Set.copyOf(cached)) {
+            boards.asMap().compute(new BoardKey(sessionId, viewer), (key, board) -> {
+                removeViewer(key);
+                return null;
+            });
+        }
+    }
+
+    private void addViewer(BoardKey key) {
+        viewers.compute(key.sessionId(), (sessionId, cached) -> {
+            Set<String> names = cached != null ? cached : ConcurrentHashMap.newKeySet();
+            names.add(key.viewer());
+            return names;
+        });
+    }
+
+    private void removeViewer(BoardKey key) {
+        viewers.computeIfPresent(key.sessionId(), (sessionId, cached) -> {
+            cached.remove(key.viewer());
+            return cached.isEmpty() ? null : cached;
+        });
+    }
+
+    SerializedBoard serialize(BoardSnapshot board) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(board);
+            return new SerializedBoard(json, gzip(json), etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Board " + board.id() + " could not be serialized", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record BoardKey(long sessionId, String viewer) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.home.reminisce.service;
+
+public enum ExportFormat {
+    // one JSON object per comment and line
+    NDJSON,
+    // header row, then one row per comment
+    CSV
+}
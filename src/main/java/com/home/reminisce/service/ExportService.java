@@ -0,0 +1,10 @@
+package com.home.reminisce.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ExportService {
+
+    StreamingResponseBody exportSession(long sessionId, ExportFormat format);
+
+    StreamingResponseBody exportSessions(ExportFormat format);
+}
@@ -0,0 +1,144 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.home.reminisce.api.model.CommentExportRow;
+import com.home.reminisce.repository.CommentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Exports comments of sessions as NDJSON or CSV without loading them. Rows are DTO projections
+ * read in keyset chunks, each in a short read-only transaction, and written to the response
+ * between transactions, so a slow download holds no connection and neither the persistence
+ * context nor the output buffer grows with the number of comments. Comments added while an
+ * export runs may or may not be included; none is written twice. Access is checked and the
+ * caller resolved before the response starts, since the body is written from the async executor.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // a spreadsheet evaluates a cell starting with one of these as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final String CSV_HEADER =
+            "sessionId,sessionName,commentId,createdOn,authoredBy,categoryId,text,likeCount,dislikeCount";
+
+    private final SessionService sessionService;
+
+    private final CommentRepository commentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectWriter rowWriter;
+
+    private final int chunkSize;
+
+    public ExportServiceImpl(SessionService sessionService,
+                             CommentRepository commentRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${reminisce.export.chunk-size:500}") int chunkSize) {
+        this.sessionService = sessionService;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rowWriter = objectMapper.writerFor(CommentExportRow.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public StreamingResponseBody exportSession(long sessionId, ExportFormat format) {
+        // resolves the session and rejects callers who are not members
+        sessionService.findById(sessionId);
+        Pageable chunk = PageRequest.ofSize(chunkSize);
+        return body(last -> last == null
+                ? commentRepository.findFirstExportRows(sessionId, chunk)
+                : commentRepository.findExportRowsAfter(sessionId, last.createdOn(), last.commentId(), chunk), format);
+    }
+
+    @Override
+    public StreamingResponseBody exportSessions(ExportFormat format) {
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        Pageable chunk = PageRequest.ofSize(chunkSize);
+        return body(last -> last == null
+                ? commentRepository.findFirstExportRowsVisibleTo(authenticatedUser, chunk)
+                : commentRepository.findExportRowsVisibleToAfter(authenticatedUser, last.sessionId(), last.createdOn(),
+                last.commentId(), chunk), format);
+    }
+
+    /**
+     * Writes the rows {@code chunkAfter} returns, given the last row written (null at first), until
+     * a chunk comes back short.
+     */
+    private StreamingResponseBody body(Function<CommentExportRow, List<CommentExportRow>> chunkAfter,
+                                       ExportFormat format) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            CommentExportRow last = null;
+            List<CommentExportRow> rows;
+            do {
+                CommentExportRow after = last;
+                rows = transactionTemplate.execute(status -> chunkAfter.apply(after));
+                for (CommentExportRow row : rows) {
+                    writeRow(writer, row, format);
+                    last = row;
+                }
+            } while (rows.size() == chunkSize);
+            writer.flush();
+        };
+    }
+
+    private void writeRow(Writer writer, CommentExportRow row, ExportFormat format) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(rowWriter.writeValueAsString(row));
+        } else {
+            writer.write(String.join(",",
+                    String.valueOf(row.sessionId()),
+                    csv(row.sessionName()),
+                    String.valueOf(row.commentId()),
+                    row.createdOn() != null ? row.createdOn().toString() : "",
+                    csv(row.authoredBy()),
+                    row.categoryId() != null ? row.categoryId().toString() : "",
+                    csv(row.text()),
+                    Long.toString(row.likeCount()),
+                    Long.toString(row.dislikeCount())));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes a field when it holds a separator, quote or line break, doubling embedded quotes. A
+     * field that would be read as a formula is prefixed with a single quote and quoted.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            return "\"'" + value.replace("\"", "\"\"") + '"';
+        }
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,14 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.BoardImportResult;
+import com.home.reminisce.api.model.RosterImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+
+    RosterImportResult importRoster(Long sessionId, InputStream input, RosterFormat format) throws IOException;
+
+    BoardImportResult importBoards(InputStream input) throws IOException;
+}
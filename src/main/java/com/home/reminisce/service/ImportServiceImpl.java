@@ -0,0 +1,376 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.home.reminisce.api.model.BoardImport;
+import com.home.reminisce.api.model.BoardImportComment;
+import com.home.reminisce.api.model.BoardImportReaction;
+import com.home.reminisce.api.model.BoardImportResult;
+import com.home.reminisce.api.model.RosterImportResult;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.ParticipationRepository;
+import com.home.reminisce.repository.ReactionRepository;
+import com.home.reminisce.repository.SessionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports rosters and whole boards from a request body without buffering it. Input is parsed
+ * one roster entry or one board at a time, and entities are flushed and detached every
+ * {@code hibernate.jdbc.batch_size} rows so each flush turns into one JDBC batch and the
+ * persistence context never grows past a batch. Ids come from the pooled sequences, so
+ * inserts are not forced to execute one by one.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final Set<String> CSV_HEADERS = Set.of("participantname", "participant", "name", "email");
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final SessionService sessionService;
+
+    private final SessionRepository sessionRepository;
+
+    private final ParticipationRepository participationRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final ReactionRepository reactionRepository;
+
+    private final SessionMembershipIndex membershipIndex;
+
+    private final UserSessionService userSessionService;
+
+    private final BoardChangeLog changeLog;
+
+    private final BoardEventPublisher boardEventPublisher;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    public ImportServiceImpl(SessionService sessionService,
+                             SessionRepository sessionRepository,
+                             ParticipationRepository participationRepository,
+                             CommentRepository commentRepository,
+                             ReactionRepository reactionRepository,
+                             SessionMembershipIndex membershipIndex,
+                             UserSessionService userSessionService,
+                             BoardChangeLog changeLog,
+                             BoardEventPublisher boardEventPublisher,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.sessionService = sessionService;
+        this.sessionRepository = sessionRepository;
+        this.participationRepository = participationRepository;
+        this.commentRepository = commentRepository;
+        this.reactionRepository = reactionRepository;
+        this.membershipIndex = membershipIndex;
+        this.userSessionService = userSessionService;
+        this.changeLog = changeLog;
+        this.boardEventPublisher = boardEventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the roster one batch of names at a time, outside any transaction, and adds each batch
+     * in a short transaction of its own, so the upload never holds a connection and only one
+     * batch of names is kept. Each committed batch is announced right away; a failure part way
+     * through keeps the batches written before it.
+     */
+    @Override
+    public RosterImportResult importRoster(Long sessionId, InputStream input, RosterFormat format) throws IOException {
+        // resolves the session and rejects callers who are not members
+        Session session = sessionService.findById(sessionId);
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        NameReader names = format == RosterFormat.CSV ? csvNames(input) : ndjsonNames(input);
+
+        long read = 0;
+        long added = 0;
+        Set<String> batch = new LinkedHashSet<>(batchSize);
+        for (String entry = names.next(); entry != null; entry = names.next()) {
+            read++;
+            String name = entry.strip();
+            if (name.isEmpty() || name.equals(session.getCreatedBy()) || !batch.add(name)) {
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                added += addParticipants(sessionId, batch, authenticatedUser);
+                batch.clear();
+            }
+        }
+        added += addParticipants(sessionId, batch, authenticatedUser);
+        return new RosterImportResult(added, read - added);
+    }
+
+    private int addParticipants(Long sessionId, Set<String> names, String addedBy) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        List<String> added = transactionTemplate.execute(status -> {
+            Set<String> newMembers = new LinkedHashSet<>(names);
+            participationRepository.findParticipantNamesBySessionIdAndParticipantNameIn(sessionId, names)
+                    .forEach(newMembers::remove);
+            if (newMembers.isEmpty()) {
+                return List.<String>of();
+            }
+            writeBatch(participationRepository, newMembers.stream()
+                    .map(name -> participation(sessionId, name, addedBy))
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            List<String> batch = List.copyOf(newMembers);
+            changeLog.participantsAdded(sessionId, batch);
+            userSessionService.participantsAdded(sessionId, batch);
+            return batch;
+        });
+        if (!added.isEmpty()) {
+            membershipIndex.invalidate(sessionId);
+            boardEventPublisher.participantNamesAdded(sessionId, added);
+        }
+        return added.size();
+    }
+
+    /**
+     * Accepts a single board, a JSON array of boards or a stream of concatenated board objects.
+     * Each board is written in its own transaction.
+     */
+    @Override
+    public BoardImportResult importBoards(InputStream input) throws IOException {
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        ObjectReader boardReader = objectMapper.readerFor(BoardImport.class);
+        List<Long> sessionIds = new ArrayList<>();
+        long comments = 0;
+        long reactions = 0;
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token == JsonToken.START_OBJECT) {
+                BoardImport board = boardReader.readValue(parser);
+                long[] written = transactionTemplate.execute(status -> importBoard(board, authenticatedUser));
+                sessionIds.add(written[0]);
+                comments += written[1];
+                reactions += written[2];
+                token = parser.nextToken();
+            }
+            if (array ? token != JsonToken.END_ARRAY : token != null) {
+                throw new IllegalArgumentException("Expected a board object or an array of boards");
+            }
+        }
+        return new BoardImportResult(sessionIds, comments, reactions);
+    }
+
+    private long[] importBoard(BoardImport board, String importedBy) {
+        if (board.name() == null || board.name().isBlank()) {
+            throw new IllegalArgumentException("Imported board has no name");
+        }
+        Session session = sessionRepository.save(Session.builder()
+                .name(board.name())
+                .createdBy(importedBy)
+                .createdOn(Optional.ofNullable(board.createdOn()).orElseGet(Instant::now))
+                .endedOn(board.endedOn())
+                .status(Optional.ofNullable(board.status()).orElse(SessionStatus.COMPLETED))
+                .comments(new ArrayList<>())
+                .build());
+        long sessionId = session.getId();
+
+        Set<String> participants = new LinkedHashSet<>();
+        List<Participation> participationBatch = new ArrayList<>(batchSize);
+        for (String entry : Optional.ofNullable(board.participants()).orElse(List.of())) {
+            String name = Optional.ofNullable(entry).map(String::strip).orElse("");
+            if (!name.isEmpty() && !name.equals(importedBy) && participants.add(name)) {
+                participationBatch.add(participation(sessionId, name, importedBy));
+                if (participationBatch.size() == batchSize) {
+                    writeBatch(participationRepository, participationBatch);
+                }
+            }
+        }
+        writeBatch(participationRepository, participationBatch);
+
+        long commentCount = 0;
+        long reactionCount = 0;
+        List<Comment> commentBatch = new ArrayList<>(batchSize);
+        List<Collection<BoardImportReaction>> reactionsOfBatch = new ArrayList<>(batchSize);
+        for (BoardImportComment imported : Optional.ofNullable(board.comments()).orElse(List.of())) {
+            // one reaction per author, as the reaction endpoint enforces; the last one wins
+            Map<String, BoardImportReaction> byAuthor = new LinkedHashMap<>();
+            Optional.ofNullable(imported.reactions()).orElse(List.of()).stream()
+                    .filter(reaction -> reaction.reactionType() != null)
+                    .forEach(reaction -> byAuthor.put(reaction.authoredBy(), reaction));
+            commentBatch.add(Comment.builder()
+                    .sessionId(sessionId)
+                    .text(imported.text())
+                    .authoredBy(imported.authoredBy())
+                    .createdOn(Optional.ofNullable(imported.createdOn()).orElse(session.getCreatedOn()))
+                    .categoryId(imported.categoryId())
+                    .likeCount(count(byAuthor.values(), ReactionType.LIKE))
+                    .dislikeCount(count(byAuthor.values(), ReactionType.DISLIKE))
+                    .build());
+            reactionsOfBatch.add(byAuthor.values());
+            commentCount++;
+            if (commentBatch.size() == batchSize) {
+                reactionCount += writeComments(commentBatch, reactionsOfBatch);
+            }
+        }
+        reactionCount += writeComments(commentBatch, reactionsOfBatch);
+
+        userSessionService.sessionImported(session, commentCount, participants);
+        return new long[]{sessionId, commentCount, reactionCount};
+    }
+
+    private long writeComments(List<Comment> comments, List<Collection<BoardImportReaction>> reactionsOfComments) {
+        // ids are assigned on save, so the reactions of this batch can reference their comments
+        commentRepository.saveAll(comments);
+        long written = 0;
+        List<Reaction> reactionBatch = new ArrayList<>(batchSize);
+        for (int i = 0; i < comments.size(); i++) {
+            Long commentId = comments.get(i).getId();
+            for (BoardImportReaction reaction : reactionsOfComments.get(i)) {
+                reactionBatch.add(Reaction.builder()
+                        .commentId(commentId)
+                        .authoredBy(reaction.authoredBy())
+                        .reactionType(reaction.reactionType())
+                        .createdOn(Optional.ofNullable(reaction.createdOn()).orElse(comments.get(i).getCreatedOn()))
+                        .build());
+                written++;
+                if (reactionBatch.size() == batchSize) {
+                    writeBatch(reactionRepository, reactionBatch);
+                }
+            }
+        }
+        writeBatch(reactionRepository, reactionBatch);
+        flushAndClear();
+        comments.clear();
+        reactionsOfComments.clear();
+        return written;
+    }
+
+    private <T> void writeBatch(JpaRepository<T, Long> repository, List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        repository.saveAll(batch);
+        flushAndClear();
+        batch.clear();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Participation participation(Long sessionId, String participantName, String addedBy) {
+        return Participation.builder()
+                .sessionId(sessionId)
+                .participantName(participantName)
+                .addedBy(addedBy)
+                .addedAt(Instant.now())
+                .build();
+    }
+
+    private static long count(Collection<BoardImportReaction> reactions, ReactionType reactionType) {
+        return reactions.stream().filter(reaction -> reaction.reactionType() == reactionType).count();
+    }
+
+    private NameReader ndjsonNames(InputStream input) throws IOException {
+        MappingIterator<JsonNode> values = objectMapper.readerFor(JsonNode.class).readValues(input);
+        return () -> {
+            if (!values.hasNextValue()) {
+                return null;
+            }
+            JsonNode value = values.nextValue();
+            return value.isTextual() ? value.asText() : value.path("participantName").asText("");
+        };
+    }
+
+    /**
+     * Names from the column headed by one of {@link #CSV_HEADERS}, or from the first column when
+     * the first row is not a header.
+     */
+    private static NameReader csvNames(InputStream input) throws IOException {
+        MappingIterator<List<String>> rows = CSV_MAPPER.readerForListOf(String.class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .readValues(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int[] column = {-1};
+        return () -> {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            List<String> row = rows.nextValue();
+            if (column[0] < 0) {
+                column[0] = headerColumn(row);
+                if (column[0] >= 0) {
+                    return rows.hasNextValue() ? field(rows.nextValue(), column[0]) : null;
+                }
+                column[0] = 0;
+            }
+            return field(row, column[0]);
+        };
+    }
+
+    private static int headerColumn(List<String> row) {
+        for (int i = 0; i < row.size(); i++) {
+            if (row.get(i) != null && CSV_HEADERS.contains(row.get(i).strip().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> row, int column) {
+        return column < row.size() && row.get(column) != null ? row.get(column) : "";
+    }
+
+    /**
+     * Next roster entry, or null once the input is exhausted.
+     */
+    @FunctionalInterface
+    private interface NameReader {
+
+        String next() throws IOException;
+    }
+}
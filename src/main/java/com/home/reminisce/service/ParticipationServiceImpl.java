@@ -4,6 +4,7 @@ import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Participation;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.repository.ParticipationRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,18 +16,31 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("reminisce.service")
 public class ParticipationServiceImpl implements ParticipationService {
 
     private final SessionService sessionService;
 
     private final ParticipationRepository participationRepository;
 
-    public ParticipationServiceImpl(SessionService sessionService, ParticipationRepository participationRepository) {
+    private final SessionMembershipIndex membershipIndex;
+
+    private final UserSessionService userSessionService;
+
+    private final BoardChangeLog changeLog;
+
+    public ParticipationServiceImpl(SessionService sessionService, ParticipationRepository participationRepository,
+                                    SessionMembershipIndex membershipIndex, UserSessionService userSessionService,
+                                    BoardChangeLog changeLog) {
         this.sessionService = sessionService;
         this.participationRepository = participationRepository;
+        this.membershipIndex = membershipIndex;
+        this.userSessionService = userSessionService;
+        this.changeLog = changeLog;
     }
 
     @Override
+    @Transactional
     public List<Participation> addParticipations(Long sessionId, List<String> participants) {
         Session session = sessionService.findById(sessionId);
         if (Optional.ofNullable(session).isEmpty()) {
@@ -45,7 +59,11 @@ public class ParticipationServiceImpl implements ParticipationService {
                         .addedAt(Instant.now())
                         .build())
                 .collect(Collectors.toList());
-        return participationRepository.saveAll(participations);
+        List<Participation> saved = participationRepository.saveAll(participations);
+        membershipIndex.invalidate(sessionId);
+        changeLog.participantsAdded(sessionId, participants);
+        userSessionService.participantsAdded(sessionId, participants);
+        return saved;
     }
 
     @Override
@@ -66,12 +84,12 @@ public class ParticipationServiceImpl implements ParticipationService {
         }
 
         participationRepository.deleteBySessionIdAndParticipantNameIn(sessionId, participants);
+        membershipIndex.invalidate(sessionId);
+        changeLog.participantsRemoved(sessionId, participants);
+        userSessionService.participantsRemoved(sessionId, participants);
     }
 
     private boolean isAuthorizedToEditSession(Session session) {
-        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
-        return Optional.ofNullable(session.getCreatedBy()).orElse("").equals(authenticatedUser)
-                || getParticipations(session.getId()).stream()
-                .anyMatch(participation -> participation.getParticipantName().equals(authenticatedUser));
+        return membershipIndex.isMember(session, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 }
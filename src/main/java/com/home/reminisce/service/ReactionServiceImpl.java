@@ -3,13 +3,17 @@ package com.home.reminisce.service;
 import com.home.reminisce.api.model.ReactionRequest;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.EntityIdAllocator;
 import com.home.reminisce.repository.ReactionRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,58 +21,153 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Timed("reminisce.service")
 public class ReactionServiceImpl implements ReactionService {
 
     private final ReactionRepository reactionRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final CommentRepository commentRepository;
+    private final BoardEventPublisher boardEventPublisher;
+    private final ReactionWriteBehindBuffer writeBehindBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final CompletedBoardCache completedBoards;
+    private final BoardChangeLog changeLog;
+    private final EntityIdAllocator idAllocator;
 
-    public ReactionServiceImpl(ReactionRepository reactionRepository, SimpMessagingTemplate messagingTemplate) {
+    public ReactionServiceImpl(ReactionRepository reactionRepository, CommentRepository commentRepository,
+                               BoardEventPublisher boardEventPublisher, ReactionWriteBehindBuffer writeBehindBuffer,
+                               PlatformTransactionManager transactionManager, CompletedBoardCache completedBoards,
+                               BoardChangeLog changeLog, EntityIdAllocator idAllocator) {
         this.reactionRepository = reactionRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.commentRepository = commentRepository;
+        this.boardEventPublisher = boardEventPublisher;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.completedBoards = completedBoards;
+        this.changeLog = changeLog;
+        this.idAllocator = idAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Not annotated as transactional: in write-behind mode a toggle must not hold a connection.
+     */
     @Override
-    @Transactional
     public ResponseEntity<Reaction> createReaction(ReactionRequest reactionRequest) {
         String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<Reaction> reactions = reactionRepository.findByCommentIdAndAuthoredBy(
-                reactionRequest.commentId(),
-                userEmail
-        );
-
-        if (!reactions.isEmpty()) {
-            if (reactions.get(0).getReactionType().equals(reactionRequest.reactionType())) {
-                return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
-            } else {
-                reactionRepository.delete(reactions.get(0));
-            }
+        Long commentId = reactionRequest.commentId();
+        ReactionType reactionType = reactionRequest.reactionType();
+        Instant createdOn = Instant.now();
+
+        if (writeBehindBuffer.isEnabled()) {
+            return createBufferedReaction(Reaction.builder()
+                    .createdOn(createdOn)
+                    .reactionType(reactionType)
+                    .authoredBy(userEmail)
+                    .commentId(commentId)
+                    .build());
         }
 
-        Reaction createdReaction = reactionRepository.save(Reaction.builder()
-                .createdOn(Instant.now())
-                .reactionType(reactionRequest.reactionType())
-                .authoredBy(userEmail)
-                .commentId(reactionRequest.commentId())
-                .build());
+        Optional<ReactionRepository.UpsertedReaction> upserted = transactionTemplate.execute(status -> {
+            Optional<ReactionRepository.UpsertedReaction> result = reactionRepository.upsert(
+                    idAllocator.nextId(Reaction.class), commentId, userEmail, createdOn, reactionType.name());
+            result.ifPresent(row -> {
+                adjustReactionCounts(commentId, previousType(row, reactionType), reactionType);
+                changeLog.reactionsSet(row.getSessionId(), List.of(commentId));
+            });
+            return result;
+        });
+        if (upserted.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
 
-        // push new reaction to the websocket
-        messagingTemplate.convertAndSend("/topic/newReaction", createdReaction);
+        // push the counter change to the websocket topic of the comment's session
+        Long sessionId = upserted.get().getSessionId();
+        if (sessionId != null) {
+            completedBoards.invalidate(sessionId);
+            boardEventPublisher.reactionChanged(sessionId, commentId, previousType(upserted.get(), reactionType), reactionType);
+        }
 
+        Reaction createdReaction = Reaction.builder()
+                .id(upserted.get().getId())
+                .createdOn(createdOn)
+                .reactionType(reactionType)
+                .authoredBy(userEmail)
+                .commentId(commentId)
+                .build();
         return new ResponseEntity<>(createdReaction, HttpStatus.CREATED);
     }
 
+    /**
+     * Not annotated as transactional: in write-behind mode the queued reactions are flushed first,
+     * in a transaction of the buffer's own, which must not wait for a connection while this one holds another.
+     */
     @Override
     public void deleteReaction(Long reactionId) {
-        Optional<Reaction> optionalReaction = reactionRepository.findById(reactionId);
-        if (optionalReaction.isPresent()) {
-            Reaction reaction = optionalReaction.get();
-            if (reaction.getAuthoredBy().equals(SecurityContextHolder.getContext().getAuthentication().getName())) {
-                reactionRepository.delete(optionalReaction.get());
-            } else {
+        if (writeBehindBuffer.isEnabled()) {
+            // the reaction and its counters may still be queued
+            writeBehindBuffer.flush();
+        }
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        DeletedReaction deleted = transactionTemplate.execute(status -> {
+            Reaction reaction = reactionRepository.findById(reactionId)
+                    .orElseThrow(() -> new NoSuchElementException("Reaction not found with ID" + reactionId));
+            if (!reaction.getAuthoredBy().equals(userEmail)) {
                 throw new UnauthorizedAccessException("You are not authorized to delete this reaction.");
             }
-        } else {
-            throw new NoSuchElementException("Reaction not found with ID" + reactionId);
+            reactionRepository.delete(reaction);
+            adjustReactionCounts(reaction.getCommentId(), reaction.getReactionType(), null);
+            writeBehindBuffer.reactionDeleted(reaction.getCommentId(), reaction.getAuthoredBy());
+            Long sessionId = commentRepository.findSessionIdById(reaction.getCommentId()).orElse(null);
+            if (sessionId != null) {
+                changeLog.reactionCleared(sessionId, reaction.getCommentId());
+            }
+            return new DeletedReaction(reaction, sessionId);
+        });
+        // announced once the deletion is committed
+        if (deleted.sessionId() != null) {
+            completedBoards.invalidate(deleted.sessionId());
+            boardEventPublisher.reactionChanged(deleted.sessionId(), deleted.reaction().getCommentId(),
+                    deleted.reaction().getReactionType(), null);
+        }
+    }
+
+    /**
+     * Answers the toggle from memory; the row and the counters are written by the next flush,
+     * so the returned reaction has no id yet.
+     */
+    private ResponseEntity<Reaction> createBufferedReaction(Reaction reaction) {
+        Optional<ReactionWriteBehindBuffer.Toggle> toggle = writeBehindBuffer.toggle(
+                reaction.getCommentId(), reaction.getAuthoredBy(), reaction.getReactionType(), reaction.getCreatedOn());
+        if (toggle.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        if (!toggle.get().changed()) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        completedBoards.invalidate(toggle.get().sessionId());
+        boardEventPublisher.reactionChanged(toggle.get().sessionId(), reaction.getCommentId(),
+                toggle.get().previousType(), reaction.getReactionType());
+        return new ResponseEntity<>(reaction, HttpStatus.CREATED);
+    }
+
+    private void adjustReactionCounts(Long commentId, ReactionType previousType, ReactionType currentType) {
+        commentRepository.adjustReactionCounts(commentId,
+                count(currentType, ReactionType.LIKE) - count(previousType, ReactionType.LIKE),
+                count(currentType, ReactionType.DISLIKE) - count(previousType, ReactionType.DISLIKE));
+    }
+
+    private static long count(ReactionType reactionType, ReactionType counted) {
+        return counted.equals(reactionType) ? 1 : 0;
+    }
+
+    // an existing reaction is only replaced when its type differs, i.e. it was the other one
+    private static ReactionType previousType(ReactionRepository.UpsertedReaction upserted, ReactionType reactionType) {
+        return upserted.isInserted() ? null : opposite(reactionType);
+    }
+
+    private static ReactionType opposite(ReactionType reactionType) {
+        return reactionType == ReactionType.LIKE ? ReactionType.DISLIKE : ReactionType.LIKE;
+    }
+
+    private record DeletedReaction(Reaction reaction, Long sessionId) {
     }
 }
@@ -0,0 +1,437 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.EntityIdAllocator;
+import com.home.reminisce.repository.ReactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind mode for reaction toggles. A toggle is applied to an in-memory view of the
+ * comment's reactions and answered straight away; the resulting rows and counter changes are
+ * written in one transaction per flush, every flush interval or once the configured number of
+ * changes is pending. Repeated toggles of the same user on the same comment between two flushes
+ * collapse into one row write. The counters of the comments a flush touches are recounted from
+ * their reaction rows in the same transaction, so they stay right even when a view was behind the
+ * database.
+ * <p>
+ * The view of a comment is loaded from the database on its first toggle and dropped once all of
+ * its changes are committed, so memory is bounded by the comments with unflushed changes and the
+ * view is never older than one flush interval. A batch that keeps failing is dropped after the
+ * configured number of attempts. An interval of 0 disables the mode.
+ */
+@Slf4j
+@Component
+public class ReactionWriteBehindBuffer {
+
+    // rows of comments deleted in the meantime are skipped instead of failing the whole batch
+    private static final String UPSERT_REACTION = "INSERT INTO reaction (id, comment_id, authored_by, created_on, reaction_type) " +
+            "SELECT ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM comment c WHERE c.id = ?) " +
+            "ON CONFLICT ON CONSTRAINT reaction_comment_author_uk DO UPDATE " +
+            "SET reaction_type = EXCLUDED.reaction_type, created_on = EXCLUDED.created_on " +
+            "WHERE reaction.reaction_type IS DISTINCT FROM EXCLUDED.reaction_type";
+
+    private static final String RECOUNT_REACTIONS = "UPDATE comment SET " +
+            "like_count = (SELECT count(*) FROM reaction r WHERE r.comment_id = comment.id AND r.reaction_type = 'LIKE'), " +
+            "dislike_count = (SELECT count(*) FROM reaction r WHERE r.comment_id = comment.id AND r.reaction_type = 'DISLIKE') " +
+            "WHERE id = ?";
+
+    private final ReactionRepository reactionRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityIdAllocator idAllocator;
+
+    private final BoardChangeLog changeLog;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxBatch;
+
+    private final int maxAttempts;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<Long, CommentReactions> comments = new ConcurrentHashMap<>();
+
+    // guards the pending maps below; taken after the lock of a comment's view, never before it
+    private final Object lock = new Object();
+
+    private Map<ReactionKey, PendingReaction> pendingReactions = new LinkedHashMap<>();
+
+    private Map<CommentReactions, Long> pendingComments = new IdentityHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+
+    private final DistributionSummary flushSize;
+
+    private final Counter flushFailures;
+
+    private final Counter droppedReactions;
+
+    public ReactionWriteBehindBuffer(ReactionRepository reactionRepository,
+                                     CommentRepository commentRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     EntityIdAllocator idAllocator,
+                                     PlatformTransactionManager transactionManager,
+                                     BoardChangeLog changeLog,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${reminisce.reactions.write-behind.flush-interval-ms:0}") long flushIntervalMillis,
+                                     @Value("${reminisce.reactions.write-behind.max-batch:500}") int maxBatch,
+                                     @Value("${reminisce.reactions.write-behind.max-attempts:5}") int maxAttempts) {
+        this.reactionRepository = reactionRepository;
+        this.commentRepository = commentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // released views must only reflect committed rows, so never join the caller's transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.scheduler = flushIntervalMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(daemonThreadFactory())
+                : null;
+        if (scheduler != null) {
+            scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        this.flushTimer = Timer.builder("reminisce.reactions.flush")
+                .description("Time to write one batch of buffered reactions")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("reminisce.reactions.flush.size")
+                .description("Reaction rows written by one flush")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("reminisce.reactions.flush.failures")
+                .description("Flushes rolled back")
+                .register(meterRegistry);
+        this.droppedReactions = Counter.builder("reminisce.reactions.dropped")
+                .description("Reaction rows given up on after the last attempt to write them failed")
+                .register(meterRegistry);
+        Gauge.builder("reminisce.reactions.pending", this, ReactionWriteBehindBuffer::pendingCount)
+                .description("Reaction rows waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return scheduler != null;
+    }
+
+    /**
+     * Whether a comment of the session has toggles that are not committed yet, i.e. whether the
+     * database may still be behind what the session's users were told.
+     */
+    public boolean hasPendingChanges(Long sessionId) {
+        return comments.values().stream().anyMatch(view -> sessionId.equals(view.sessionId));
+    }
+
+    /**
+     * Applies the user's reaction to the in-memory view of the comment and queues the write.
+     * Empty when the comment does not exist.
+     */
+    public Optional<Toggle> toggle(Long commentId, String authoredBy, ReactionType reactionType, Instant createdOn) {
+        while (true) {
+            CommentReactions view = comments.get(commentId);
+            if (view == null) {
+                Optional<CommentReactions> loaded = load(commentId);
+                if (loaded.isEmpty()) {
+                    return Optional.empty();
+                }
+                CommentReactions existing = comments.putIfAbsent(commentId, loaded.get());
+                view = existing != null ? existing : loaded.get();
+            }
+            Toggle toggle;
+            boolean batchFull;
+            synchronized (view) {
+                if (view.released) {
+                    // all changes of this view were committed and it was dropped; read it again
+                    continue;
+                }
+                ReactionType previousType = view.types.get(authoredBy);
+                if (reactionType == previousType) {
+                    if (view.version == 0) {
+                        // nothing queued for this comment, so nothing would ever release the view
+                        view.released = true;
+                        comments.remove(commentId, view);
+                    }
+                    return Optional.of(new Toggle(view.sessionId, previousType, false));
+                }
+                view.types.put(authoredBy, reactionType);
+                batchFull = enqueue(view, new PendingReaction(commentId, authoredBy, reactionType, createdOn, 0));
+                toggle = new Toggle(view.sessionId, previousType, true);
+            }
+            if (batchFull) {
+                try {
+                    scheduler.execute(this::flush);
+                } catch (RejectedExecutionException e) {
+                    // shutting down; the final flush writes the batch
+                }
+            }
+            return Optional.of(toggle);
+        }
+    }
+
+    /**
+     * Keeps the view of the comment in line with a reaction deleted directly in the database.
+     * Inside a transaction the view is only changed once it commits.
+     */
+    public void reactionDeleted(Long commentId, String authoredBy) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeFromView(commentId, authoredBy);
+                }
+            });
+        } else {
+            removeFromView(commentId, authoredBy);
+        }
+    }
+
+    /**
+     * Writes everything queued so far in one transaction. A failed batch is queued again, behind
+     * any newer change of the same reaction, until its rows have failed {@code max-attempts} times.
+     * Must not be called inside a transaction: the flush takes a connection of its own.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Batch batch = drain();
+            if (batch == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                log.warn("Failed to write {} buffered reactions", batch.reactions().size(), e);
+                requeue(batch);
+                return;
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushSize.record(batch.reactions().size());
+            release(batch.comments());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        if (pendingCount() > 0) {
+            log.error("{} buffered reactions could not be written before shutdown", pendingCount());
+        }
+    }
+
+    int pendingCount() {
+        synchronized (lock) {
+            return pendingReactions.size();
+        }
+    }
+
+    private Optional<CommentReactions> load(Long commentId) {
+        return commentRepository.findSessionIdById(commentId).map(sessionId -> {
+            CommentReactions view = new CommentReactions(commentId, sessionId);
+            for (Reaction reaction : reactionRepository.findByCommentId(commentId)) {
+                view.types.put(reaction.getAuthoredBy(), reaction.getReactionType());
+            }
+            return view;
+        });
+    }
+
+    private boolean enqueue(CommentReactions view, PendingReaction reaction) {
+        synchronized (lock) {
+            view.version++;
+            pendingReactions.put(new ReactionKey(reaction.commentId(), reaction.authoredBy()), reaction);
+            pendingComments.put(view, view.version);
+            return pendingReactions.size() >= maxBatch;
+        }
+    }
+
+    private Batch drain() {
+        synchronized (lock) {
+            if (pendingReactions.isEmpty()) {
+                return null;
+            }
+            Batch batch = new Batch(new ArrayList<>(pendingReactions.values()), pendingComments);
+            pendingReactions = new LinkedHashMap<>();
+            pendingComments = new IdentityHashMap<>();
+            return batch;
+        }
+    }
+
+    private void write(Batch batch) {
+        List<Object[]> reactionRows = batch.reactions().stream()
+                .map(reaction -> new Object[]{idAllocator.nextId(Reaction.class), reaction.commentId(), reaction.authoredBy(),
+                        Timestamp.from(reaction.createdOn()), reaction.reactionType().name(), reaction.commentId()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_REACTION, reactionRows);
+        // recounted rather than adjusted by deltas from the views; in id order, as the comment rows get locked
+        List<Object[]> countRows = batch.reactions().stream()
+                .map(PendingReaction::commentId)
+                .distinct()
+                .sorted()
+                .map(commentId -> new Object[]{commentId})
+                .toList();
+        jdbcTemplate.batchUpdate(RECOUNT_REACTIONS, countRows);
+        // one change log entry per written row; sessions in id order, as their counter rows get locked
+        Map<Long, Long> sessionIds = new HashMap<>();
+        batch.comments().keySet().forEach(view -> sessionIds.put(view.commentId, view.sessionId));
+        Map<Long, List<Long>> changedComments = new TreeMap<>();
+        batch.reactions().forEach(reaction -> changedComments
+                .computeIfAbsent(sessionIds.get(reaction.commentId()), sessionId -> new ArrayList<>())
+                .add(reaction.commentId()));
+        changedComments.forEach(changeLog::reactionsSet);
+    }
+
+    private void requeue(Batch batch) {
+        List<PendingReaction> dropped = new ArrayList<>();
+        Map<CommentReactions, Long> settled = new IdentityHashMap<>();
+        synchronized (lock) {
+            Map<ReactionKey, PendingReaction> reactions = new LinkedHashMap<>();
+            for (PendingReaction reaction : batch.reactions()) {
+                ReactionKey key = new ReactionKey(reaction.commentId(), reaction.authoredBy());
+                // changes queued while the batch was being written are newer and win
+                if (pendingReactions.containsKey(key)) {
+                    continue;
+                }
+                if (reaction.attempts() + 1 >= maxAttempts) {
+                    dropped.add(reaction);
+                } else {
+                    reactions.put(key, reaction.retried());
+                }
+            }
+            Set<Long> queuedComments = new HashSet<>();
+            reactions.keySet().forEach(key -> queuedComments.add(key.commentId()));
+            reactions.putAll(pendingReactions);
+            pendingReactions = reactions;
+            batch.comments().forEach((view, version) -> {
+                if (queuedComments.contains(view.commentId) || pendingComments.containsKey(view)) {
+                    pendingComments.putIfAbsent(view, version);
+                } else {
+                    settled.put(view, version);
+                }
+            });
+        }
+        if (!dropped.isEmpty()) {
+            droppedReactions.increment(dropped.size());
+            log.error("Dropped {} buffered reactions after {} failed attempts", dropped.size(), maxAttempts);
+        }
+        // nothing of these views is queued any more; they are read again from the database on the next toggle
+        release(settled);
+    }
+
+    private void release(Map<CommentReactions, Long> views) {
+        views.forEach((view, version) -> {
+            synchronized (view) {
+                // a view with changes queued after the batch stays until those are written as well
+                if (view.version == version) {
+                    view.released = true;
+                    comments.remove(view.commentId, view);
+                }
+            }
+        });
+    }
+
+    private void removeFromView(Long commentId, String authoredBy) {
+        CommentReactions view = comments.get(commentId);
+        if (view != null) {
+            synchronized (view) {
+                view.types.remove(authoredBy);
+            }
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("reaction-flush-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Outcome of a buffered toggle: the session of the comment for the broadcast, the reaction it
+     * replaced, and whether anything changed at all.
+     */
+    public record Toggle(Long sessionId, ReactionType previousType, boolean changed) {
+    }
+
+    private record ReactionKey(Long commentId, String authoredBy) {
+    }
+
+    private record PendingReaction(Long commentId, String authoredBy, ReactionType reactionType, Instant createdOn,
+                                   int attempts) {
+
+        PendingReaction retried() {
+            return new PendingReaction(commentId, authoredBy, reactionType, createdOn, attempts + 1);
+        }
+    }
+
+    private record Batch(List<PendingReaction> reactions, Map<CommentReactions, Long> comments) {
+    }
+
+    private static final class CommentReactions {
+
+        private final Long commentId;
+
+        private final Long sessionId;
+
+        private final Map<String, ReactionType> types = new HashMap<>();
+
+        // number of changes queued for this comment; written under both this view's lock and the buffer lock
+        private long version;
+
+        private boolean released;
+
+        CommentReactions(Long commentId, Long sessionId) {
+            this.commentId = commentId;
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.home.reminisce.service;
+
+public enum RosterFormat {
+    // one JSON string or {"participantName": ...} object per line
+    NDJSON,
+    // participant name in the first column, optional header row
+    CSV
+}
@@ -0,0 +1,106 @@
+package com.home.reminisce.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.repository.ParticipationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "is this user a member of the session?" from memory. The roster of a session
+ * (creator plus participant names) is loaded on first use and dropped whenever the
+ * participations of that session change. Rosters larger than the configured size are
+ * not kept; membership in those sessions is checked with a single-row lookup instead.
+ */
+@Component
+public class SessionMembershipIndex {
+
+    private final ParticipationRepository participationRepository;
+
+    private final int maxRosterSize;
+
+    private final Cache<Long, Roster> rosters;
+
+    private final Counter oversizedLookups;
+
+    public SessionMembershipIndex(ParticipationRepository participationRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${reminisce.membership.max-names:100000}") long maxNames,
+                                  @Value("${reminisce.membership.max-roster-size:500}") int maxRosterSize,
+                                  @Value("${reminisce.membership.ttl:10m}") Duration ttl) {
+        this.participationRepository = participationRepository;
+        this.maxRosterSize = maxRosterSize;
+        // weighted by the number of names held, so memory is bounded by names rather than sessions;
+        // the ttl bounds staleness when another instance changes a roster
+        this.rosters = Caffeine.newBuilder()
+                .maximumWeight(maxNames)
+                .weigher((Long sessionId, Roster roster) -> roster.names().size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rosters, "session.members");
+        this.oversizedLookups = Counter.builder("reminisce.membership.oversized.lookups")
+                .description("Membership checks answered by the database because the roster exceeds the cached size")
+                .register(meterRegistry);
+    }
+
+    public boolean isMember(Session session, String userName) {
+        if (Objects.equals(session.getCreatedBy(), userName)) {
+            return true;
+        }
+        Roster roster = rosters.get(session.getId(), sessionId -> load(sessionId, session.getCreatedBy()));
+        if (roster.oversized()) {
+            oversizedLookups.increment();
+            return participationRepository.findBySessionIdAndParticipantName(session.getId(), userName).isPresent();
+        }
+        return roster.names().contains(userName);
+    }
+
+    /**
+     * Drops the cached roster. Inside a transaction it is dropped again once the transaction
+     * completes, so a concurrent reader cannot re-cache the roster as it was before the commit.
+     */
+    public void invalidate(Long sessionId) {
+        rosters.invalidate(sessionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    rosters.invalidate(sessionId);
+                }
+            });
+        }
+    }
+
+    private Roster load(Long sessionId, String createdBy) {
+        List<Participation> participations = participationRepository.findBySessionId(sessionId);
+        if (participations.size() > maxRosterSize) {
+            return new Roster(Set.of(), true);
+        }
+        Set<String> names = participations.stream()
+                .map(Participation::getParticipantName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (createdBy != null) {
+            names.add(createdBy);
+        }
+        return new Roster(Set.copyOf(names), false);
+    }
+
+    private record Roster(Set<String> names, boolean oversized) {
+    }
+}
@@ -1,17 +1,27 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardChanges;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.SerializedBoard;
 import com.home.reminisce.api.model.SessionRequest;
+import com.home.reminisce.api.model.SessionSummary;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.model.SessionStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SessionService {
 
     Session findById(long l);
 
+    BoardSnapshot getBoard(long id);
+
+    Optional<SerializedBoard> getCompletedBoard(long id);
+
+    BoardChanges getChanges(long id, long since);
+
     List<Session> getAll();
 
     boolean sessionExists(long sessionId);
@@ -22,5 +32,5 @@ public interface SessionService {
 
     void deleteSession(Long id);
 
-    Page<Session> getPaginatedSessions(Pageable pageable);
+    CursorPage<SessionSummary> getSessionsPage(String cursor, int size);
 }
@@ -1,39 +1,76 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardChanges;
+import com.home.reminisce.api.model.BoardComment;
+import com.home.reminisce.api.model.BoardDelta;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.PageCursor;
+import com.home.reminisce.api.model.SerializedBoard;
 import com.home.reminisce.api.model.SessionRequest;
+import com.home.reminisce.api.model.SessionSummary;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
+import com.home.reminisce.model.BoardChange;
 import com.home.reminisce.model.Comment;
 import com.home.reminisce.model.Participation;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
 import com.home.reminisce.repository.ParticipationRepository;
 import com.home.reminisce.repository.SessionRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed("reminisce.service")
 public class SessionServiceImpl implements SessionService {
 
     private final SessionRepository sessionRepository;
 
     private final ParticipationRepository participationRepository;
 
-    public SessionServiceImpl(SessionRepository sessionRepository, ParticipationRepository participationRepository) {
+    private final CommentRepository commentRepository;
+
+    private final SessionMembershipIndex membershipIndex;
+
+    private final UserSessionService userSessionService;
+
+    private final CompletedBoardCache completedBoards;
+
+    private final ReactionWriteBehindBuffer reactionBuffer;
+
+    private final BoardChangeLog changeLog;
+
+    public SessionServiceImpl(SessionRepository sessionRepository, ParticipationRepository participationRepository,
+                              CommentRepository commentRepository, SessionMembershipIndex membershipIndex,
+                              UserSessionService userSessionService, CompletedBoardCache completedBoards,
+                              ReactionWriteBehindBuffer reactionBuffer, BoardChangeLog changeLog) {
         this.sessionRepository = sessionRepository;
         this.participationRepository = participationRepository;
+        this.commentRepository = commentRepository;
+        this.membershipIndex = membershipIndex;
+        this.userSessionService = userSessionService;
+        this.completedBoards = completedBoards;
+        this.reactionBuffer = reactionBuffer;
+        this.changeLog = changeLog;
     }
 
     public Session findById(long id) {
@@ -50,6 +87,62 @@ public class SessionServiceImpl implements SessionService {
         }
     }
 
+    @Override
+    public BoardSnapshot getBoard(long id) {
+        Session session = findById(id);
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        // the join yields one row per own reaction, so collapse duplicates to one row per comment
+        Map<Long, BoardComment> comments = commentRepository.findBoardComments(id, authenticatedUser).stream()
+                .collect(Collectors.toMap(BoardComment::id, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        return BoardSnapshot.of(session, List.copyOf(comments.values()));
+    }
+
+    /**
+     * Boards of completed sessions are served serialized from memory. Toggles still waiting
+     * for a write-behind flush are not in the database yet, so such a board is not cached.
+     */
+    @Override
+    public Optional<SerializedBoard> getCompletedBoard(long id) {
+        Session session = findById(id);
+        if (!Objects.equals(session.getStatus(), SessionStatus.COMPLETED) || reactionBuffer.hasPendingChanges(id)) {
+            return Optional.empty();
+        }
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        return Optional.of(completedBoards.get(id, authenticatedUser, () -> getBoard(id)));
+    }
+
+    /**
+     * The session is read before the change log, so a full snapshot is never behind the
+     * cursor it returns; at worst the next sync repeats a change the snapshot already has.
+     */
+    @Override
+    public BoardChanges getChanges(long id, long since) {
+        Session session = findById(id);
+        List<BoardChange> changes = changeLog.changesAfter(id, since, changeLog.retained() + 1);
+        boolean covered = changes.isEmpty()
+                ? since == session.getChangeSeq()
+                : changes.get(0).getSeq() == since + 1 && changes.size() <= changeLog.retained();
+        if (!covered) {
+            return BoardChanges.of(getBoard(id));
+        }
+        if (changes.isEmpty()) {
+            return BoardChanges.of(id, since, List.of());
+        }
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        Set<Long> commentIds = changes.stream()
+                .map(BoardChange::getCommentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, BoardComment> comments = commentIds.isEmpty() ? Map.of()
+                : commentRepository.findBoardCommentsByIdIn(id, authenticatedUser, commentIds).stream()
+                .collect(Collectors.toMap(BoardComment::id, Function.identity(), (first, second) -> first));
+        List<BoardDelta> deltas = changes.stream()
+                .map(change -> new BoardDelta(change.getSeq(), change.getType(), change.getCommentId(),
+                        change.getParticipantName(), change.getCommentId() != null ? comments.get(change.getCommentId()) : null))
+                .toList();
+        return BoardChanges.of(id, changes.get(changes.size() - 1).getSeq(), deltas);
+    }
+
     @Override
     public boolean sessionExists(long sessionId) {
         return sessionRepository.findById(sessionId).isPresent();
@@ -67,13 +160,15 @@ public class SessionServiceImpl implements SessionService {
     }
 
     public Session createSession(SessionRequest sessionRequest) {
-        return sessionRepository.save(Session.builder()
+        Session session = sessionRepository.save(Session.builder()
                 .name(sessionRequest.name())
                 .createdBy(SecurityContextHolder.getContext().getAuthentication().getName())
                 .status(SessionStatus.IN_PROGRESS)
                 .createdOn(Instant.now())
                 .comments(List.of(Comment.builder().createdOn(Instant.now()).authoredBy("reminisce").text("Enjoy your retro").build()))
                 .build());
+        userSessionService.sessionCreated(session);
+        return session;
     }
 
     @Override
@@ -100,6 +195,10 @@ public class SessionServiceImpl implements SessionService {
             Session session = sessionOptional.get();
             if (session.getCreatedBy().equals(SecurityContextHolder.getContext().getAuthentication().getName())) {
                 sessionRepository.delete(sessionOptional.get());
+                membershipIndex.invalidate(id);
+                completedBoards.invalidate(id);
+                changeLog.sessionDeleted(id);
+                userSessionService.sessionDeleted(id);
             } else {
                 throw new UnauthorizedAccessException("You are not authorized to delete this session.");
             }
@@ -109,20 +208,25 @@ public class SessionServiceImpl implements SessionService {
     }
 
     @Override
-    public Page<Session> getPaginatedSessions(Pageable pageable) {
-        return sessionRepository.findAll(pageable);
+    public CursorPage<SessionSummary> getSessionsPage(String cursor, int size) {
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<SessionSummary> rows;
+        if (cursor == null) {
+            rows = sessionRepository.findFirstSessionsOf(authenticatedUser, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = sessionRepository.findSessionsOfBefore(authenticatedUser, after.timestamp(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, row -> new PageCursor(row.createdOn(), row.id()));
     }
 
     private boolean isAuthorizedToEditSession(Session session) {
-        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
-        return Optional.ofNullable(session.getCreatedBy()).orElse("").equals(authenticatedUser)
-                || participationRepository.findBySessionIdAndParticipantName(session.getId(), authenticatedUser).isPresent();
+        return membershipIndex.isMember(session, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
     private boolean isAuthorizedToViewSession(Session session) {
-        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
-        return Optional.ofNullable(session.getCreatedBy()).orElse("").equals(authenticatedUser)
-                || participationRepository.findBySessionIdAndParticipantName(session.getId(), authenticatedUser).isPresent();
+        return membershipIndex.isMember(session, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
 }
@@ -0,0 +1,28 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.DashboardEntry;
+import com.home.reminisce.model.Session;
+
+import java.util.Collection;
+
+public interface UserSessionService {
+
+    CursorPage<DashboardEntry> getDashboard(String cursor, int size);
+
+    void sessionCreated(Session session);
+
+    void sessionImported(Session session, long commentCount, Collection<String> participantNames);
+
+    void sessionDeleted(Long sessionId);
+
+    void participantsAdded(Long sessionId, Collection<String> participantNames);
+
+    void participantsRemoved(Long sessionId, Collection<String> participantNames);
+
+    void commentAdded(Long sessionId);
+
+    void commentUpdated(Long sessionId);
+
+    void commentRemoved(Long sessionId);
+}
@@ -0,0 +1,154 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.DashboardEntry;
+import com.home.reminisce.api.model.PageCursor;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionActivity;
+import com.home.reminisce.model.SessionRole;
+import com.home.reminisce.model.UserSession;
+import com.home.reminisce.repository.ParticipationRepository;
+import com.home.reminisce.repository.SessionActivityRepository;
+import com.home.reminisce.repository.UserSessionRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the dashboard: a membership row per (user, session), written when members join or
+ * leave, and one {@link SessionActivity} row per session with its counters and last activity,
+ * which is all a comment or roster change updates.
+ */
+@Service
+public class UserSessionServiceImpl implements UserSessionService {
+
+    private final UserSessionRepository userSessionRepository;
+
+    private final SessionActivityRepository sessionActivityRepository;
+
+    private final ParticipationRepository participationRepository;
+
+    public UserSessionServiceImpl(UserSessionRepository userSessionRepository,
+                                  SessionActivityRepository sessionActivityRepository,
+                                  ParticipationRepository participationRepository) {
+        this.userSessionRepository = userSessionRepository;
+        this.sessionActivityRepository = sessionActivityRepository;
+        this.participationRepository = participationRepository;
+    }
+
+    @Override
+    public CursorPage<DashboardEntry> getDashboard(String cursor, int size) {
+        String authenticatedUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<DashboardEntry> rows;
+        if (cursor == null) {
+            rows = userSessionRepository.findFirstDashboardEntries(authenticatedUser, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = userSessionRepository.findDashboardEntriesBefore(authenticatedUser, after.timestamp(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, row -> new PageCursor(row.lastActivityAt(), row.sessionId()));
+    }
+
+    @Override
+    @Transactional
+    public void sessionCreated(Session session) {
+        sessionActivityRepository.save(SessionActivity.builder()
+                .sessionId(session.getId())
+                .lastActivityAt(Optional.ofNullable(session.getCreatedOn()).orElseGet(Instant::now))
+                .commentCount(Optional.ofNullable(session.getComments()).map(List::size).orElse(0))
+                .participantCount(0)
+                .build());
+        userSessionRepository.save(member(session.getId(), session.getCreatedBy(), SessionRole.CREATOR));
+    }
+
+    @Override
+    @Transactional
+    public void sessionImported(Session session, long commentCount, Collection<String> participantNames) {
+        Instant lastActivityAt = Optional.ofNullable(session.getEndedOn())
+                .or(() -> Optional.ofNullable(session.getCreatedOn()))
+                .orElseGet(Instant::now);
+        sessionActivityRepository.save(SessionActivity.builder()
+                .sessionId(session.getId())
+                .lastActivityAt(lastActivityAt)
+                .commentCount(commentCount)
+                .participantCount(participantNames.size())
+                .build());
+        List<UserSession> members = new ArrayList<>(participantNames.size() + 1);
+        members.add(member(session.getId(), session.getCreatedBy(), SessionRole.CREATOR));
+        participantNames.forEach(participantName -> members.add(member(session.getId(), participantName,
+                SessionRole.PARTICIPANT)));
+        userSessionRepository.saveAll(members);
+    }
+
+    @Override
+    @Transactional
+    public void sessionDeleted(Long sessionId) {
+        userSessionRepository.deleteBySessionId(sessionId);
+        sessionActivityRepository.deleteBySessionId(sessionId);
+    }
+
+    @Override
+    @Transactional
+    public void participantsAdded(Long sessionId, Collection<String> participantNames) {
+        sessionActivityRepository.updateParticipantCount(sessionId, participationRepository.countBySessionId(sessionId),
+                Instant.now());
+
+        // the creator, or someone added twice, already has a row
+        Set<String> newMembers = new LinkedHashSet<>(participantNames);
+        newMembers.removeAll(new HashSet<>(userSessionRepository.findUserNamesBySessionIdAndUserNameIn(sessionId, newMembers)));
+        if (newMembers.isEmpty()) {
+            return;
+        }
+        userSessionRepository.saveAll(newMembers.stream()
+                .map(participantName -> member(sessionId, participantName, SessionRole.PARTICIPANT))
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    public void participantsRemoved(Long sessionId, Collection<String> participantNames) {
+        if (!participantNames.isEmpty()) {
+            userSessionRepository.deleteMembers(sessionId, SessionRole.PARTICIPANT, participantNames);
+        }
+        sessionActivityRepository.updateParticipantCount(sessionId, participationRepository.countBySessionId(sessionId),
+                Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void commentAdded(Long sessionId) {
+        sessionActivityRepository.adjustCommentCount(sessionId, 1, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void commentUpdated(Long sessionId) {
+        sessionActivityRepository.touch(sessionId, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void commentRemoved(Long sessionId) {
+        sessionActivityRepository.adjustCommentCount(sessionId, -1, Instant.now());
+    }
+
+    private static UserSession member(long sessionId, String userName, SessionRole role) {
+        return UserSession.builder()
+                .userName(userName)
+                .sessionId(sessionId)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.BoardChangeRepository;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.ParticipationRepository;
+import com.home.reminisce.repository.SessionActivityRepository;
+import com.home.reminisce.repository.SessionRepository;
+import com.home.reminisce.repository.UserSessionRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "reminisce.changes.retained=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = BoardChangeSyncTest.USER)
+class BoardChangeSyncTest {
+
+    static final String USER = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ParticipationRepository participationRepository;
+
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private SessionActivityRepository sessionActivityRepository;
+
+    private Session session;
+
+    @BeforeEach
+    void setup() {
+        session = sessionRepository.save(Session.builder()
+                .name("Retro")
+                .createdBy(USER)
+                .createdOn(Instant.now())
+                .status(SessionStatus.IN_PROGRESS)
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        boardChangeRepository.deleteAll();
+        participationRepository.deleteAll();
+        commentRepository.deleteAll();
+        userSessionRepository.deleteAll();
+        sessionActivityRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenChangesAfterCursor_whenGetChanges_thenOnlyDeltasAreReturned() throws Exception {
+        mockMvc.perform(get("/sessions/{id}", session.getId())).andExpect(jsonPath("$.changeSeq").value(0));
+        long commentId = createComment("First");
+        mockMvc.perform(put("/comments/{id}", commentId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": " + session.getId() + ", \"text\": \"Edited\", \"categoryId\": 1}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seq").value(2))
+                .andExpect(jsonPath("$.snapshot").value(nullValue()))
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].type").value("COMMENT_CREATED"))
+                .andExpect(jsonPath("$.changes[0].comment.text").value("Edited"))
+                .andExpect(jsonPath("$.changes[1].type").value("COMMENT_UPDATED"));
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "2"))
+                .andExpect(jsonPath("$.seq").value(2))
+                .andExpect(jsonPath("$.changes", hasSize(0)));
+    }
+
+    @Test
+    void givenParticipantsAdded_whenGetChanges_thenEachNameIsOneChange() throws Exception {
+        mockMvc.perform(post("/participations/{id}/add", session.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"a@example.com\", \"b@example.com\"]"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "0"))
+                .andExpect(jsonPath("$.seq").value(2))
+                .andExpect(jsonPath("$.changes[0].type").value("PARTICIPANT_ADDED"))
+                .andExpect(jsonPath("$.changes[0].participantName").value("a@example.com"))
+                .andExpect(jsonPath("$.changes[1].participantName").value("b@example.com"));
+    }
+
+    @Test
+    void givenCursorOlderThanTheRetainedChanges_whenGetChanges_thenFullSnapshotIsReturned() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createComment("Comment " + i);
+        }
+
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "1"))
+                .andExpect(jsonPath("$.seq").value(5))
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.snapshot.comments", hasSize(5)));
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "2"))
+                .andExpect(jsonPath("$.changes", hasSize(3)))
+                .andExpect(jsonPath("$.snapshot").value(nullValue()));
+        mockMvc.perform(get("/sessions/{id}/changes", session.getId()).param("since", "9"))
+                .andExpect(jsonPath("$.seq").value(5))
+                .andExpect(jsonPath("$.snapshot.changeSeq").value(5));
+    }
+
+    private long createComment(String text) throws Exception {
+        String body = mockMvc.perform(post("/comments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": " + session.getId() + ", \"text\": \"" + text + "\", \"categoryId\": 0}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.id")).longValue();
+    }
+}
@@ -0,0 +1,164 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.BoardChangeRepository;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Opens more event streams than the stream executor can take at once: one writer with room for
+ * two waiting streams. Writes the executor rejects are retried on the heartbeat instead of closing
+ * the stream.
+ */
+@SpringBootTest(properties = {"reminisce.websocket.coalesce-window-ms=0", "reminisce.sse.pool-size=1",
+        "reminisce.sse.queue-capacity=2", "reminisce.sse.heartbeat-interval=200ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = BoardEventStreamSaturationTest.USER)
+class BoardEventStreamSaturationTest {
+
+    static final String USER = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+
+    @Autowired
+    @Qualifier("sseTaskExecutor")
+    private ThreadPoolTaskExecutor sseTaskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Session session;
+
+    @BeforeEach
+    void setup() {
+        session = sessionRepository.save(Session.builder()
+                .name("Retro")
+                .createdBy(USER)
+                .createdOn(Instant.now())
+                .status(SessionStatus.IN_PROGRESS)
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        boardChangeRepository.deleteAll();
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenMoreStreamsThanTheExecutorQueueHolds_whenExecutorIsFull_thenEveryStreamGetsTheEventLater() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<MockHttpServletResponse> streams = new ArrayList<>();
+        try {
+            // the one writer is busy and the queue full, so nothing is written to the streams yet
+            sseTaskExecutor.execute(() -> awaitQuietly(release));
+            fillQueue();
+            for (int i = 0; i < 8; i++) {
+                streams.add(openStream());
+            }
+            double deferred = deferred();
+
+            createComment("Deferred");
+
+            for (int attempt = 0; attempt < 100 && deferred() == deferred; attempt++) {
+                Thread.sleep(50);
+            }
+            assertTrue(deferred() > deferred, "no stream write was rejected");
+        } finally {
+            release.countDown();
+        }
+
+        for (MockHttpServletResponse stream : streams) {
+            awaitContent(stream, "Deferred");
+        }
+    }
+
+    private MockHttpServletResponse openStream() throws Exception {
+        return mockMvc.perform(get("/sessions/{id}/stream", session.getId()).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void createComment(String text) throws Exception {
+        mockMvc.perform(post("/comments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": " + session.getId() + ", \"text\": \"" + text + "\", \"categoryId\": 0}"))
+                .andExpect(status().isCreated());
+    }
+
+    private double deferred() {
+        return meterRegistry.counter("reminisce.sse.deferred").count();
+    }
+
+    private void fillQueue() {
+        try {
+            while (true) {
+                sseTaskExecutor.execute(() -> {
+                });
+            }
+        } catch (TaskRejectedException e) {
+            // full
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected)
+            throws InterruptedException, UnsupportedEncodingException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (response.getContentAsString().contains(expected)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("stream never sent " + expected + ": " + response.getContentAsString());
+    }
+}
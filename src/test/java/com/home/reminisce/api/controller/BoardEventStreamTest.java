@@ -0,0 +1,149 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.BoardChangeRepository;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.SessionRepository;
+import com.home.reminisce.service.BoardEventStreams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "reminisce.websocket.coalesce-window-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = BoardEventStreamTest.USER)
+class BoardEventStreamTest {
+
+    static final String USER = "user@example.com";
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+
+    private Session session;
+
+    @BeforeEach
+    void setup() {
+        session = sessionRepository.save(Session.builder()
+                .name("Retro")
+                .createdBy(USER)
+                .createdOn(Instant.now())
+                .status(SessionStatus.IN_PROGRESS)
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        boardChangeRepository.deleteAll();
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenOpenStream_whenCommentIsCreated_thenItIsStreamedAsCommentsEvent() throws Exception {
+        MockHttpServletResponse stream = openStream(null);
+
+        createComment("Streamed");
+
+        String events = awaitContent(stream, "Streamed");
+        assertTrue(events.contains("event:comments"), events);
+        assertTrue(EVENT_ID.matcher(events).find(), events);
+    }
+
+    @Test
+    void givenLastEventId_whenStreamIsReopened_thenOnlyMissedEventsAreReplayed() throws Exception {
+        MockHttpServletResponse first = openStream(null);
+        createComment("Seen");
+        String seenId = lastEventId(awaitContent(first, "Seen"));
+        createComment("Missed");
+        awaitContent(first, "Missed");
+
+        MockHttpServletResponse resumed = openStream(seenId);
+
+        String events = awaitContent(resumed, "Missed");
+        assertFalse(events.contains("Seen"), events);
+    }
+
+    @Test
+    void givenUnknownLastEventId_whenStreamIsReopened_thenClientIsToldToResync() throws Exception {
+        MockHttpServletResponse resumed = openStream("1.2.3");
+
+        awaitContent(resumed, "event:" + BoardEventStreams.RESYNC_EVENT);
+    }
+
+    private MockHttpServletResponse openStream(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder stream = get("/sessions/{id}/stream", session.getId())
+                .accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            stream.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(stream)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private void createComment(String text) throws Exception {
+        mockMvc.perform(post("/comments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": " + session.getId() + ", \"text\": \"" + text + "\", \"categoryId\": 0}"))
+                .andExpect(status().isCreated());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected)
+            throws InterruptedException, UnsupportedEncodingException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(50);
+        }
+        return fail("stream never sent " + expected + ": " + response.getContentAsString());
+    }
+
+    private static String lastEventId(String events) {
+        Matcher matcher = EVENT_ID.matcher(events);
+        String id = null;
+        while (matcher.find()) {
+            id = matcher.group(1);
+        }
+        return id;
+    }
+}
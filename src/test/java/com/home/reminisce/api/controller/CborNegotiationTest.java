@@ -0,0 +1,81 @@
+package com.home.reminisce.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.SessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = CborNegotiationTest.USER)
+class CborNegotiationTest {
+
+    static final String USER = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private Session session;
+
+    @BeforeEach
+    void setup() {
+        session = sessionRepository.save(Session.builder()
+                .name("Retro")
+                .createdBy(USER)
+                .createdOn(Instant.now())
+                .status(SessionStatus.COMPLETED)
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenAcceptCbor_whenGetBoard_thenBoardIsEncodedAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/sessions/{id}", session.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode board = new CBORMapper().readTree(body);
+        assertEquals("Retro", board.get("name").asText());
+        assertEquals("COMPLETED", board.get("status").asText());
+    }
+
+    @Test
+    void givenAnyContentType_whenGetBoard_thenJsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/sessions/{id}", session.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("Retro"));
+        mockMvc.perform(get("/sessions").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -3,6 +3,7 @@ package com.home.reminisce.api.controller;
 import com.home.reminisce.api.model.CommentRequest;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Comment;
+import com.home.reminisce.service.BoardEventPublisher;
 import com.home.reminisce.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,6 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.util.NoSuchElementException;
 
@@ -24,7 +24,7 @@ public class CommentControllerTest {
     private CommentService commentService;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private BoardEventPublisher boardEventPublisher;
     @InjectMocks
     private CommentController commentController;
 
@@ -42,12 +42,13 @@ public class CommentControllerTest {
                 .build();
 
         // Act
-        doNothing().when(messagingTemplate).convertAndSend(anyString(), any(Comment.class));
+        doNothing().when(boardEventPublisher).commentCreated(any(Comment.class));
         when(commentService.createComment(any(CommentRequest.class))).thenReturn(createdComment);
         ResponseEntity<?> response = commentController.createComment(commentRequest);
 
         // Assert
         verify(commentService, times(1)).createComment(any(CommentRequest.class));
+        verify(boardEventPublisher, times(1)).commentCreated(createdComment);
         assert response.getStatusCode() == HttpStatus.CREATED;
         assert response.getBody() == createdComment;
     }
@@ -0,0 +1,47 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.DashboardEntry;
+import com.home.reminisce.service.UserSessionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    @Mock
+    private UserSessionService userSessionService;
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    @Test
+    void whenGetDashboard_thenReturnPage() {
+        CursorPage<DashboardEntry> page = new CursorPage<>(List.of(), null);
+        when(userSessionService.getDashboard(null, 20)).thenReturn(page);
+
+        ResponseEntity<?> response = dashboardController.getDashboard(null, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetDashboard_thenReturnBadRequest() {
+        when(userSessionService.getDashboard("garbage", 20)).thenThrow(new IllegalArgumentException("Malformed page cursor"));
+
+        ResponseEntity<?> response = dashboardController.getDashboard("garbage", 20);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
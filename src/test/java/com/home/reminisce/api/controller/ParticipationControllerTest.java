@@ -1,6 +1,8 @@
 import com.home.reminisce.api.controller.ParticipationController;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Participation;
+import com.home.reminisce.service.BoardEventPublisher;
+import com.home.reminisce.service.ImportService;
 import com.home.reminisce.service.ParticipationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,12 @@ public class ParticipationControllerTest {
     @Mock
     private ParticipationService participationService;
 
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private ImportService importService;
+
     @InjectMocks
     private ParticipationController participationController;
 
@@ -52,6 +60,7 @@ public class ParticipationControllerTest {
 
         // Verify the service method was called
         verify(participationService, times(1)).addParticipations(sessionId, participants);
+        verify(boardEventPublisher, times(1)).participantsAdded(sessionId, addedParticipations);
         verifyNoMoreInteractions(participationService);
     }
 
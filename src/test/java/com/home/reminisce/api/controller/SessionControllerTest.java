@@ -1,9 +1,14 @@
 package com.home.reminisce.api.controller;
 
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.SerializedBoard;
 import com.home.reminisce.api.model.SessionRequest;
+import com.home.reminisce.api.model.SessionSummary;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.service.BoardEventStreams;
 import com.home.reminisce.service.SessionService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -11,13 +16,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
@@ -28,6 +36,9 @@ class SessionControllerTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private BoardEventStreams eventStreams;
+
     @InjectMocks
     private SessionController sessionController;
 
@@ -35,31 +46,81 @@ class SessionControllerTest {
     void givenValidSessionId_whenGetSessionById_thenReturnSession() throws Exception {
         // Arrange
         long sessionId = 1L;
-        Session session = Session.builder().id(sessionId).build();
-        when(sessionService.findById(sessionId)).thenReturn(session);
+        BoardSnapshot board = BoardSnapshot.of(Session.builder().id(sessionId).build(), List.of());
+        when(sessionService.getBoard(sessionId)).thenReturn(board);
 
         // Act
-        ResponseEntity<?> response = sessionController.getSessionById(sessionId);
+        ResponseEntity<?> response = sessionController.getSessionById(sessionId, null, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(session, response.getBody());
-        verify(sessionService).findById(sessionId);
+        assertEquals(board, response.getBody());
+        verify(sessionService).getBoard(sessionId);
     }
 
     @Test
     void givenInvalidSessionId_whenGetSessionById_thenReturnNotFound() throws Exception {
         // Arrange
         long sessionId = 1L;
-        when(sessionService.findById(sessionId)).thenThrow(EntityNotFoundException.class);
+        when(sessionService.getBoard(sessionId)).thenThrow(EntityNotFoundException.class);
 
         // Act
-        ResponseEntity<?> response = sessionController.getSessionById(sessionId);
+        ResponseEntity<?> response = sessionController.getSessionById(sessionId, null, null, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
-        verify(sessionService).findById(sessionId);
+        verify(sessionService).getBoard(sessionId);
+    }
+
+    @Test
+    void givenClientAcceptingCbor_whenGetSessionById_thenBoardIsLeftToContentNegotiation() throws Exception {
+        long sessionId = 1L;
+        BoardSnapshot board = BoardSnapshot.of(Session.builder().id(sessionId).status(SessionStatus.COMPLETED).build(), List.of());
+        when(sessionService.getBoard(sessionId)).thenReturn(board);
+
+        ResponseEntity<?> response = sessionController.getSessionById(sessionId, null, "gzip", "application/cbor, application/json;q=0.5");
+
+        assertEquals(board, response.getBody());
+        verify(sessionService, never()).getCompletedBoard(sessionId);
+    }
+
+    @Test
+    void givenSessionOfAnotherUser_whenStreamSession_thenReturnForbiddenWithoutOpeningStream() {
+        when(sessionService.findById(1L)).thenThrow(new UnauthorizedAccessException("You are not authorized to view this session."));
+
+        ResponseEntity<?> response = sessionController.streamSession(1L, null);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(eventStreams);
+    }
+
+    @Test
+    void givenCompletedBoard_whenGetSessionByIdAcceptingGzip_thenReturnGzippedBytesWithEtag() throws Exception {
+        long sessionId = 1L;
+        SerializedBoard board = new SerializedBoard("{}".getBytes(), new byte[]{1}, "abc");
+        when(sessionService.getCompletedBoard(sessionId)).thenReturn(Optional.of(board));
+
+        ResponseEntity<?> response = sessionController.getSessionById(sessionId, null, "deflate, gzip;q=0.8", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(new byte[]{1}, (byte[]) response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"abc-gzip\"", response.getHeaders().getETag());
+        verify(sessionService, never()).getBoard(sessionId);
+    }
+
+    @Test
+    void givenCompletedBoard_whenGetSessionByIdWithMatchingEtag_thenReturnNotModified() throws Exception {
+        long sessionId = 1L;
+        SerializedBoard board = new SerializedBoard("{}".getBytes(), new byte[]{1}, "abc");
+        when(sessionService.getCompletedBoard(sessionId)).thenReturn(Optional.of(board));
+
+        ResponseEntity<?> response = sessionController.getSessionById(sessionId, "W/\"abc-gzip\"", "gzip;q=0", null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
     }
 
     @Test
@@ -79,6 +140,33 @@ class SessionControllerTest {
         verify(sessionService).getAll();
     }
 
+    @Test
+    void givenCursor_whenGetSessionsPage_thenReturnPage() {
+        CursorPage<SessionSummary> page = new CursorPage<>(List.of(), null);
+        when(sessionService.getSessionsPage("cursor", 20)).thenReturn(page);
+
+        ResponseEntity<?> response = sessionController.getSessions("cursor", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void givenOversizedPageRequest_whenGetSessionsPage_thenSizeIsCapped() {
+        sessionController.getSessions(null, 10_000);
+
+        verify(sessionService).getSessionsPage(null, CursorPage.MAX_SIZE);
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetSessionsPage_thenReturnBadRequest() {
+        when(sessionService.getSessionsPage("garbage", 20)).thenThrow(new IllegalArgumentException("Malformed page cursor"));
+
+        ResponseEntity<?> response = sessionController.getSessions("garbage", 20);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void givenValidSessionRequest_whenCreateSession_thenReturnCreatedSession() {
         // Arrange
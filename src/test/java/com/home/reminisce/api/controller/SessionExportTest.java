@@ -0,0 +1,143 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.SessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the export queries against the database, streamed from the async executor. Chunks of one
+ * comment make every row after the first go through the keyset queries.
+ */
+@SpringBootTest(properties = "reminisce.export.chunk-size=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = SessionExportTest.USER)
+class SessionExportTest {
+
+    static final String USER = "user@example.com";
+
+    private static final Instant CREATED_ON = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Session own;
+
+    private Session other;
+
+    @BeforeEach
+    void setup() {
+        own = session("Retro, week 1", USER);
+        other = session("Someone else's", "other@example.com");
+        comment(own, "Second", CREATED_ON.plusSeconds(1));
+        comment(own, "First", CREATED_ON);
+        comment(other, "Hidden", CREATED_ON);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenSession_whenExportedAsCsv_thenCommentsAreStreamedInBoardOrder() throws Exception {
+        MvcResult result = mockMvc.perform(get("/sessions/{id}/export", own.getId()).param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"session-" + own.getId() + ".csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(3, csv.lines().count(), csv);
+        assertTrue(csv.lines().toList().get(1).startsWith(own.getId() + ",\"Retro, week 1\","), csv);
+        assertTrue(csv.indexOf("First") < csv.indexOf("Second"), csv);
+    }
+
+    @Test
+    void givenSessionsOfSeveralUsers_whenAllAreExported_thenOnlyTheUsersCommentsAreStreamed() throws Exception {
+        comment(session("Retro, week 2", USER), "Later session", CREATED_ON);
+
+        MvcResult result = mockMvc.perform(get("/sessions/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjson = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(3, ndjson.lines().count(), ndjson);
+        assertFalse(ndjson.contains("Hidden"), ndjson);
+        assertTrue(ndjson.indexOf("Second") < ndjson.indexOf("Later session"), ndjson);
+    }
+
+    @Test
+    void givenSessionOfAnotherUser_whenExported_thenForbidden() throws Exception {
+        mockMvc.perform(get("/sessions/{id}/export", other.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void givenUnknownFormat_whenExported_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/sessions/{id}/export", own.getId()).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Session session(String name, String createdBy) {
+        return sessionRepository.save(Session.builder()
+                .name(name)
+                .createdBy(createdBy)
+                .createdOn(CREATED_ON)
+                .status(SessionStatus.IN_PROGRESS)
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+    private void comment(Session session, String text, Instant createdOn) {
+        commentRepository.save(Comment.builder()
+                .sessionId(session.getId())
+                .authoredBy(session.getCreatedBy())
+                .createdOn(createdOn)
+                .text(text)
+                .categoryId(0)
+                .build());
+    }
+}
@@ -0,0 +1,154 @@
+package com.home.reminisce.api.controller;
+
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.ReactionRepository;
+import com.home.reminisce.repository.SessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static com.home.reminisce.config.SqlStatements.assertStatementsAtMost;
+import static com.home.reminisce.config.SqlStatements.count;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements the read endpoints cost. The count must not grow with
+ * the size of the board or the number of sessions; if it does, a lazy association is being
+ * loaded per row.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = SqlStatementBudgetTest.USER)
+class SqlStatementBudgetTest {
+
+    static final String USER = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @AfterEach
+    void cleanUp() {
+        reactionRepository.deleteAll();
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    void givenLargerBoard_whenGetBoard_thenStatementCountStaysTheSame() throws Throwable {
+        Session small = sessionWithComments(2);
+        Session large = sessionWithComments(30);
+
+        int smallBoard = count(() -> mockMvc.perform(get("/sessions/{id}", small.getId())).andExpect(status().isOk()));
+        int largeBoard = count(() -> mockMvc.perform(get("/sessions/{id}", large.getId())).andExpect(status().isOk()));
+
+        assertEquals(smallBoard, largeBoard);
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/sessions/{id}", large.getId())));
+    }
+
+    @Test
+    void givenCompletedBoard_whenReadAgain_thenOnlyTheSessionIsLoadedAndAnEtagMatchIsNotModified() throws Throwable {
+        Session session = sessionWithComments(30, SessionStatus.COMPLETED);
+        MvcResult[] first = new MvcResult[1];
+        count(() -> first[0] = mockMvc.perform(get("/sessions/{id}", session.getId())).andExpect(status().isOk()).andReturn());
+        String etag = first[0].getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/sessions/{id}", session.getId())).andExpect(status().isOk()));
+        mockMvc.perform(get("/sessions/{id}", session.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void givenLargerPage_whenGetCommentsPage_thenStatementCountStaysTheSame() throws Throwable {
+        Session session = sessionWithComments(30);
+
+        int smallPage = count(() -> mockMvc.perform(get("/comments").param("sessionId", Long.toString(session.getId()))
+                .param("size", "2")).andExpect(status().isOk()));
+        int largePage = count(() -> mockMvc.perform(get("/comments").param("sessionId", Long.toString(session.getId()))
+                .param("size", "30")).andExpect(status().isOk()));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void givenMoreSessions_whenGetSessionsPage_thenStatementCountStaysTheSame() throws Throwable {
+        sessionWithComments(1);
+        int oneSession = count(() -> mockMvc.perform(get("/sessions_p")).andExpect(status().isOk()));
+        for (int i = 0; i < 5; i++) {
+            sessionWithComments(3);
+        }
+
+        int sixSessions = count(() -> mockMvc.perform(get("/sessions_p")).andExpect(status().isOk()));
+
+        assertEquals(oneSession, sixSessions);
+    }
+
+    @Test
+    void givenRequest_whenServed_thenStatementCountIsSentAsHeader() throws Throwable {
+        Session session = sessionWithComments(3);
+        MvcResult[] result = new MvcResult[1];
+
+        int statements = count(() -> result[0] = mockMvc.perform(get("/sessions/{id}", session.getId())).andReturn());
+
+        assertTrue(statements > 0);
+        assertEquals(Integer.toString(statements), result[0].getResponse().getHeader("X-Sql-Statements"));
+        assertTrue(Double.parseDouble(result[0].getResponse().getHeader("X-Sql-Time-Ms")) > 0);
+    }
+
+    private Session sessionWithComments(int comments) {
+        return sessionWithComments(comments, SessionStatus.IN_PROGRESS);
+    }
+
+    private Session sessionWithComments(int comments, SessionStatus status) {
+        Session session = sessionRepository.save(Session.builder()
+                .name("Retro")
+                .createdBy(USER)
+                .createdOn(Instant.now())
+                .status(status)
+                .comments(new ArrayList<>())
+                .build());
+        for (int i = 0; i < comments; i++) {
+            Comment comment = commentRepository.save(Comment.builder()
+                    .sessionId(session.getId())
+                    .authoredBy(USER)
+                    .createdOn(Instant.now())
+                    .text("Comment " + i)
+                    .categoryId(i % 3)
+                    .build());
+            reactionRepository.save(Reaction.builder()
+                    .commentId(comment.getId())
+                    .authoredBy(USER)
+                    .createdOn(Instant.now())
+                    .reactionType(ReactionType.LIKE)
+                    .build());
+        }
+        return session;
+    }
+}
@@ -0,0 +1,243 @@
+package com.home.reminisce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.home.reminisce.service.BoardEventCoalescer;
+import com.home.reminisce.service.BoardEventReplayBuffer;
+import com.home.reminisce.service.BoardEventStreams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resubscribes through the client inbound channel the way a reconnecting STOMP client would
+ * and checks what the simple broker and {@link BoardEventReplayInterceptor} send back.
+ */
+@SpringJUnitWebConfig(BoardEventReplayTest.ReplayConfig.class)
+@TestPropertySource(properties = {"reminisce.websocket.coalesce-window-ms=0", "reminisce.websocket.replay.frames=2"})
+class BoardEventReplayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BlockingQueue<Message<?>> sent = new LinkedBlockingQueue<>();
+
+    // stands in for a slow socket: the first replayed frame of this session waits for a live publish
+    private volatile String slowSession;
+
+    private final CountDownLatch slowFrameHandled = new CountDownLatch(1);
+
+    private final CountDownLatch livePublished = new CountDownLatch(1);
+
+    private final MessageHandler client = message -> {
+        if (SimpMessageHeaderAccessor.getSessionId(message.getHeaders()).equals(slowSession)
+                && header(message, BoardEventReplayInterceptor.REPLAYED_HEADER) != null
+                && slowFrameHandled.getCount() > 0) {
+            slowFrameHandled.countDown();
+            try {
+                livePublished.await(10, TimeUnit.SECONDS);
+                // time for a live frame handled on another thread to overtake this one
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sent.add(message);
+    };
+
+    @Autowired
+    private BoardEventCoalescer coalescer;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private MessageChannel clientInboundChannel;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    private Set<MessageHandler> webSocketHandlers;
+
+    // the client takes the place of the WebSocket handler, as ordered frames wait for the one handler of the channel
+    @BeforeEach
+    void setup() {
+        webSocketHandlers = Set.copyOf(clientOutboundChannel.getSubscribers());
+        webSocketHandlers.forEach(clientOutboundChannel::unsubscribe);
+        clientOutboundChannel.subscribe(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientOutboundChannel.unsubscribe(client);
+        webSocketHandlers.forEach(clientOutboundChannel::subscribe);
+    }
+
+    @Test
+    void givenFramesMissedWhileDisconnected_whenResubscribingWithReplaySince_thenOnlyMissedFramesAreReplayed() throws Exception {
+        String topic = WebSocketConfig.commentsTopic(1L);
+        subscribe(topic, "a", null);
+        long seen = seq(publish(topic, "first"));
+        long missed = seq(publish(topic, "second"));
+
+        subscribe(topic, "b", Long.toString(seen));
+
+        Message<?> replayed = next();
+        assertEquals("b", SimpMessageHeaderAccessor.getSessionId(replayed.getHeaders()));
+        assertEquals(List.of("second"), objectMapper.readValue((byte[]) replayed.getPayload(), List.class));
+        assertEquals(missed, seq(replayed));
+        assertEquals("true", header(replayed, BoardEventReplayInterceptor.REPLAYED_HEADER));
+        assertNull(header(publish(topic, "third"), BoardEventReplayInterceptor.REPLAYED_HEADER));
+    }
+
+    @Test
+    void givenMoreFramesMissedThanKept_whenResubscribingWithReplaySince_thenClientIsToldToResync() throws Exception {
+        String topic = WebSocketConfig.commentsTopic(2L);
+        subscribe(topic, "c", null);
+        long seen = seq(publish(topic, "first"));
+        publish(topic, "second");
+        publish(topic, "third");
+        publish(topic, "fourth");
+
+        subscribe(topic, "d", Long.toString(seen));
+
+        Message<?> resync = next();
+        assertEquals("d", SimpMessageHeaderAccessor.getSessionId(resync.getHeaders()));
+        assertEquals(List.of(), objectMapper.readValue((byte[]) resync.getPayload(), List.class));
+        assertEquals("true", header(resync, BoardEventReplayInterceptor.RESYNC_HEADER));
+        assertNull(header(resync, BoardEventReplayBuffer.SEQ_HEADER));
+    }
+
+    @Test
+    void givenLivePublishDuringReplay_whenReplayedFrameIsSlowToSend_thenLiveFrameFollowsIt() throws Exception {
+        String topic = WebSocketConfig.commentsTopic(3L);
+        subscribe(topic, "e", null);
+        long seen = seq(publish(topic, "first"));
+        long missed = seq(publish(topic, "second"));
+
+        slowSession = "f";
+        subscribe(topic, "f", Long.toString(seen));
+        assertTrue(slowFrameHandled.await(10, TimeUnit.SECONDS), "the replayed frame was never sent");
+        coalescer.publish(topic, "third");
+        livePublished.countDown();
+
+        Message<?> replayed = nextOf("f");
+        assertEquals(missed, seq(replayed));
+        assertEquals("true", header(replayed, BoardEventReplayInterceptor.REPLAYED_HEADER));
+        Message<?> live = nextOf("f");
+        assertEquals(List.of("third"), objectMapper.readValue((byte[]) live.getPayload(), List.class));
+        assertTrue(seq(live) > missed);
+        assertNull(header(live, BoardEventReplayInterceptor.REPLAYED_HEADER));
+    }
+
+    /**
+     * Connects a session and subscribes it to the topic. Without a cursor, waits until the broker has registered the subscription, using probe
+     * frames since subscriptions are handled asynchronously.
+     */
+    private void subscribe(String topic, String sessionId, String replaySince) throws InterruptedException {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setSessionId(sessionId);
+        clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+        assertEquals(SimpMessageType.CONNECT_ACK, SimpMessageHeaderAccessor.getMessageType(next().getHeaders()));
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(topic);
+        if (replaySince != null) {
+            accessor.setNativeHeader(BoardEventReplayInterceptor.REPLAY_SINCE_HEADER, replaySince);
+        }
+        clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        if (replaySince != null) {
+            return;
+        }
+        for (int attempt = 0; attempt < 100; attempt++) {
+            coalescer.publish(topic, "probe");
+            if (sent.poll(100, TimeUnit.MILLISECONDS) != null) {
+                Thread.sleep(100);
+                sent.clear();
+                return;
+            }
+        }
+        throw new AssertionError("subscription was never registered");
+    }
+
+    private Message<?> publish(String topic, String event) throws InterruptedException {
+        coalescer.publish(topic, event);
+        return next();
+    }
+
+    private Message<?> next() throws InterruptedException {
+        Message<?> message = sent.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message, "nothing was sent to the client");
+        return message;
+    }
+
+    private Message<?> nextOf(String sessionId) throws InterruptedException {
+        while (true) {
+            Message<?> message = next();
+            if (sessionId.equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+                return message;
+            }
+        }
+    }
+
+    private static long seq(Message<?> message) {
+        return Long.parseLong(header(message, BoardEventReplayBuffer.SEQ_HEADER));
+    }
+
+    private static String header(Message<?> message, String name) {
+        return SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(name);
+    }
+
+    @Configuration
+    @Import({WebSocketConfig.class, WebSocketMetrics.class, SqlStatementMonitor.class,
+            BoardEventReplayInterceptor.class, BoardEventReplayBuffer.class, CborFrameTranscoder.class,
+            BoardEventCoalescer.class})
+    static class ReplayConfig {
+
+        @Bean
+        BoardEventStreams eventStreams() {
+            return Mockito.mock(BoardEventStreams.class);
+        }
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // binds duration properties such as 10m the way Spring Boot does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+}
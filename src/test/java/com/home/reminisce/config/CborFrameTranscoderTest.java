@@ -0,0 +1,79 @@
+package com.home.reminisce.config;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CborFrameTranscoderTest {
+
+    private static final byte[] FRAME = "[{\"id\":1,\"text\":\"Well done\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private final CborFrameTranscoder transcoder = new CborFrameTranscoder();
+
+    @Test
+    void givenClientAcceptingCbor_whenFrameIsSent_thenItIsReEncodedOncePerFrame() throws Exception {
+        connect("a", "application/cbor", true);
+        connect("b", "application/cbor", true);
+
+        Message<?> first = transcoder.preSend(frame("a", FRAME), null);
+        Message<?> second = transcoder.preSend(frame("b", FRAME), null);
+
+        assertEquals(CborFrameTranscoder.CBOR_FRAME_TYPE, SimpMessageHeaderAccessor.wrap(first).getContentType());
+        assertEquals(List.of(Map.of("id", 1, "text", "Well done")),
+                new CBORMapper().readValue((byte[]) first.getPayload(), List.class));
+        assertSame(first.getPayload(), second.getPayload());
+        assertEquals("b", SimpMessageHeaderAccessor.getSessionId(second.getHeaders()));
+    }
+
+    @Test
+    void givenClientWithoutAccept_whenFrameIsSent_thenJsonIsPassedThrough() {
+        connect("c", null, true);
+        Message<?> frame = frame("c", FRAME);
+
+        assertSame(frame, transcoder.preSend(frame, null));
+    }
+
+    @Test
+    void givenSockJsClientAcceptingCbor_whenFrameIsSent_thenJsonIsPassedThrough() {
+        connect("d", "application/cbor", false);
+        Message<?> frame = frame("d", FRAME);
+
+        assertSame(frame, transcoder.preSend(frame, null));
+    }
+
+    private void connect(String sessionId, String accept, boolean binaryFrames) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(binaryFrames
+                ? new HashMap<>(Map.of(CborFrameTranscoder.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE))
+                : new HashMap<>());
+        if (accept != null) {
+            accessor.setNativeHeader(CborFrameTranscoder.ACCEPT_HEADER, accept);
+        }
+        transcoder.onConnect(new SessionConnectEvent(this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private static Message<?> frame(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(WebSocketConfig.commentsTopic(1L));
+        accessor.setContentType(MediaType.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,101 @@
+package com.home.reminisce.config;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.home.reminisce.service.BoardEventCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Connects a STOMP client over a real WebSocket to the binary endpoint and decodes the CBOR
+ * frames it receives, which only survive the trip as binary WebSocket messages.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "reminisce.websocket.coalesce-window-ms=0")
+@ActiveProfiles("test")
+class CborWebSocketTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BoardEventCoalescer coalescer;
+
+    private final WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+
+    private StompSession session;
+
+    @AfterEach
+    void disconnect() {
+        if (session != null) {
+            session.disconnect();
+        }
+        client.stop();
+    }
+
+    @Test
+    void givenClientAcceptingCbor_whenFrameIsPublished_thenItArrivesAsCbor() throws Exception {
+        String topic = WebSocketConfig.commentsTopic(1L);
+        BlockingQueue<Frame> received = new LinkedBlockingQueue<>();
+        client.setMessageConverter(new ByteArrayMessageConverter());
+        StompHeaders connect = new StompHeaders();
+        connect.add(CborFrameTranscoder.ACCEPT_HEADER, "application/cbor");
+        session = client.connectAsync("ws://localhost:" + port + WebSocketConfig.BINARY_ENDPOINT,
+                origin(), connect, new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        session.subscribe(topic, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new Frame(headers.getContentType(), (byte[]) payload));
+            }
+        });
+
+        // subscriptions are registered asynchronously, so publish until one frame gets through
+        Frame frame = null;
+        for (int attempt = 0; attempt < 100 && frame == null; attempt++) {
+            coalescer.publish(topic, Map.of("id", 1, "text", "Well done ✓"));
+            frame = received.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(frame, "no frame was received");
+        assertEquals(CborFrameTranscoder.CBOR_FRAME_TYPE, frame.contentType());
+        assertEquals(List.of(Map.of("id", 1, "text", "Well done ✓")),
+                new CBORMapper().readValue(frame.payload(), List.class));
+    }
+
+    private static WebSocketHttpHeaders origin() {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setOrigin("http://localhost:3000");
+        return headers;
+    }
+
+    private record Frame(MimeType contentType, byte[] payload) {
+    }
+}
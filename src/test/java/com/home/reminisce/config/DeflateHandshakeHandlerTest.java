@@ -0,0 +1,32 @@
+package com.home.reminisce.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeflateHandshakeHandlerTest {
+
+    private static final List<WebSocketExtension> OFFERED = WebSocketExtension.parseExtensions(
+            "permessage-deflate; client_max_window_bits, x-webkit-deflate-frame");
+
+    private static final List<WebSocketExtension> SUPPORTED = List.of(new WebSocketExtension("permessage-deflate"));
+
+    @Test
+    void givenDeflateEnabled_whenClientOffersIt_thenItIsNegotiated() {
+        List<WebSocketExtension> accepted = new WebSocketConfig.DeflateHandshakeHandler(true)
+                .filterRequestedExtensions(null, OFFERED, SUPPORTED);
+
+        assertEquals(List.of("permessage-deflate"), accepted.stream().map(WebSocketExtension::getName).toList());
+    }
+
+    @Test
+    void givenDeflateDisabled_whenClientOffersIt_thenItIsDeclined() {
+        List<WebSocketExtension> accepted = new WebSocketConfig.DeflateHandshakeHandler(false)
+                .filterRequestedExtensions(null, OFFERED, SUPPORTED);
+
+        assertEquals(List.of(), accepted);
+    }
+}
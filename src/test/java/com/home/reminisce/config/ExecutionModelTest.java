@@ -0,0 +1,37 @@
+package com.home.reminisce.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionModelTest {
+
+    @Test
+    void givenConfiguredModel_whenResolved_thenVirtualOnlyWhereTheJdkSupportsIt() {
+        assertEquals(ExecutionModel.PLATFORM, ExecutionModel.resolve("platform"));
+        assertEquals(VirtualThreads.isSupported() ? ExecutionModel.VIRTUAL : ExecutionModel.PLATFORM,
+                ExecutionModel.resolve(" Virtual "));
+        assertEquals(VirtualThreads.isSupported(), VirtualThreads.perTaskExecutor("test-").isPresent());
+        assertThrows(IllegalArgumentException.class, () -> ExecutionModel.resolve("reactive"));
+    }
+
+    @Test
+    void givenPool_whenTasksSubmitted_thenRunOnNamedWorkersWithinTheBound() throws Exception {
+        ThreadPoolTaskExecutor executor = ExecutionModel.resolve("virtual").pool("ws-test-", 2, 10);
+        executor.initialize();
+        try {
+            String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+            assertTrue(threadName.startsWith("ws-test-"), threadName);
+            assertEquals(2, executor.getThreadPoolExecutor().getMaximumPoolSize());
+            assertEquals(10, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.home.reminisce.config;
+
+import com.home.reminisce.security.Role;
+import com.home.reminisce.security.User;
+import com.home.reminisce.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+
+    private TokenPrincipalLoader principalLoader;
+
+    private final User user = User.builder().displayName("user@example.com").role(Role.USER).build();
+
+    @BeforeEach
+    public void setup() {
+        jwtService = new JwtService(new SimpleMeterRegistry(), 100);
+        principalLoader = new TokenPrincipalLoader(userDetailsService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testDoFilter_WhenStatelessPrincipalEnabled_ShouldAuthenticateFromClaimsWithoutLookup() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, principalLoader, true);
+
+        filter.doFilter(requestWithToken(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("user@example.com", authentication.getName());
+        assertEquals(List.of("USER"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void testDoFilter_WhenStatelessPrincipalDisabled_ShouldLoadUser() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, principalLoader, false);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+
+        filter.doFilter(requestWithToken(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    public void testDoFilter_WhenTokenHasNoRoles_ShouldFallBackToLookup() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, principalLoader, true);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+        String legacyToken = jwtService.generateToken(new HashMap<>(), user);
+
+        filter.doFilter(requestWithToken(legacyToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    public void testDoFilter_WhenUserIsLoadedTwice_ShouldLookUpOnceAndNotKeepThePassword() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, principalLoader, false);
+        User stored = User.builder().displayName("user@example.com").role(Role.USER).password("$2a$10$hash").build();
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(stored);
+        String token = jwtService.generateToken(stored);
+
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        UserDetails principal = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals("user@example.com", principal.getUsername());
+        assertEquals("", principal.getPassword());
+        verify(userDetailsService, times(1)).loadUserByUsername("user@example.com");
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sessions");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
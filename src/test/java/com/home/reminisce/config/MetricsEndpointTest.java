@@ -0,0 +1,107 @@
+package com.home.reminisce.config;
+
+import com.home.reminisce.security.AuthenticationRequest;
+import com.home.reminisce.service.AuthenticationService;
+import com.home.reminisce.service.CommentService;
+import com.home.reminisce.service.ParticipationService;
+import com.home.reminisce.service.ReactionService;
+import com.home.reminisce.service.SessionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The service timers are registered by the {@code @Timed} aspect, and the scrape endpoint is only
+ * open on the management port. Tests leave the Prometheus registry out unless asked for it.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ParticipationService participationService;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Test
+    @WithMockUser(username = "user@example.com")
+    void givenServiceCalls_whenScraped_thenEveryTimedServiceHasATimer() {
+        // unknown ids: the calls fail, which is timed as well
+        ignoringFailure(() -> sessionService.findById(Long.MAX_VALUE));
+        ignoringFailure(() -> commentService.getCommentsPage(Long.MAX_VALUE, null, 10));
+        ignoringFailure(() -> participationService.getParticipations(Long.MAX_VALUE));
+        ignoringFailure(() -> reactionService.deleteReaction(Long.MAX_VALUE));
+        ignoringFailure(() -> authenticationService.authenticate(new AuthenticationRequest("nobody@example.com", "secret")));
+
+        Set<String> timedClasses = meterRegistry.find("reminisce.service").timers().stream()
+                .filter(timer -> timer.count() > 0)
+                .map(timer -> timer.getId().getTag("class"))
+                .map(name -> name.substring(name.lastIndexOf('.') + 1))
+                .collect(Collectors.toSet());
+        assertTrue(timedClasses.containsAll(Set.of("SessionServiceImpl", "CommentServiceImpl",
+                "ParticipationServiceImpl", "ReactionServiceImpl", "AuthenticationService")), timedClasses.toString());
+        // one timer per method, not per service
+        Timer findById = meterRegistry.get("reminisce.service").tag("method", "findById").timer();
+        assertTrue(findById.count() > 0);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(scrape.getBody().contains("reminisce_service_seconds_count{"), "service timers are not scraped");
+    }
+
+    @Test
+    void givenApplicationPort_whenScrapedWithoutToken_thenRefused() {
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.FORBIDDEN, scrape.getStatusCode());
+    }
+
+    private static void ignoringFailure(Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            // only the timer matters here
+        }
+    }
+}
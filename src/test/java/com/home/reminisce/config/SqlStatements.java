@@ -0,0 +1,32 @@
+package com.home.reminisce.config;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements Hibernate issues while an action runs on the calling thread,
+ * e.g. a MockMvc request, so tests can pin how many queries an endpoint costs.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static int count(Executable action) throws Throwable {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.start()) {
+            action.execute();
+            return scope.statements();
+        }
+    }
+
+    public static void assertStatements(int expected, Executable action) throws Throwable {
+        assertEquals(expected, count(action), "SQL statements issued");
+    }
+
+    public static void assertStatementsAtMost(int budget, Executable action) throws Throwable {
+        int statements = count(action);
+        assertTrue(statements <= budget, "expected at most " + budget + " SQL statements but " + statements + " were issued");
+    }
+}
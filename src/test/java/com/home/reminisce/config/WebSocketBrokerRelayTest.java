@@ -0,0 +1,141 @@
+package com.home.reminisce.config;
+
+import com.home.reminisce.service.BoardEventReplayBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the relay mode of {@link WebSocketConfig} against an embedded Artemis broker
+ * with a STOMP acceptor, standing in for the broker shared by all instances.
+ */
+@SpringJUnitWebConfig(WebSocketBrokerRelayTest.RelayConfig.class)
+class WebSocketBrokerRelayTest {
+
+    private static EmbeddedActiveMQ broker;
+
+    private static int stompPort;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relayHandler;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) throws Exception {
+        startBroker();
+        registry.add("reminisce.websocket.broker", () -> "relay");
+        registry.add("reminisce.websocket.relay.host", () -> "localhost");
+        registry.add("reminisce.websocket.relay.port", () -> stompPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    void givenRelayMode_whenPublishingOnThisNode_thenSubscriberOnTheBrokerReceivesFrame() throws Exception {
+        awaitBrokerAvailable();
+        String topic = WebSocketConfig.commentsTopic(1L);
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+        // a client attached to the broker directly plays the part of another instance's subscriber
+        ThreadPoolTaskScheduler receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+        ReactorNettyTcpStompClient client = new ReactorNettyTcpStompClient("localhost", stompPort);
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        client.setTaskScheduler(receiptScheduler);
+        StompSession session = client.connectAsync(new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+        StompSession.Receiptable subscription = session.subscribe(topic, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return List.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(payload);
+            }
+        });
+        BlockingQueue<Boolean> receipt = new LinkedBlockingQueue<>();
+        subscription.addReceiptTask(() -> receipt.add(true));
+        assertTrue(receipt.poll(10, TimeUnit.SECONDS), "broker did not confirm the subscription");
+
+        messagingTemplate.convertAndSend(topic, List.of("Enjoy your retro"));
+
+        assertEquals(List.of("Enjoy your retro"), received.poll(10, TimeUnit.SECONDS));
+        session.disconnect();
+        client.shutdown();
+        receiptScheduler.shutdown();
+    }
+
+    private void awaitBrokerAvailable() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !relayHandler.isBrokerAvailable(); attempt++) {
+            Thread.sleep(100);
+        }
+        assertTrue(relayHandler.isBrokerAvailable(), "relay did not connect to the broker");
+    }
+
+    private static void startBroker() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            stompPort = socket.getLocalPort();
+        }
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + stompPort + "?protocols=STOMP"));
+        broker.start();
+    }
+
+    @Configuration
+    @Import({WebSocketConfig.class, WebSocketMetrics.class, SqlStatementMonitor.class,
+            BoardEventReplayInterceptor.class, BoardEventReplayBuffer.class, CborFrameTranscoder.class})
+    static class RelayConfig {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // binds duration properties such as 10m the way Spring Boot does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+}
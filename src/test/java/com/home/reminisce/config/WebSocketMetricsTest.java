@@ -0,0 +1,115 @@
+package com.home.reminisce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebSocketMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WebSocketMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new WebSocketMetrics(meterRegistry);
+    }
+
+    @Test
+    void givenSubscriptions_whenSessionDisconnects_thenItsSubscriptionsAreReleased() {
+        metrics.onConnected(new SessionConnectedEvent(this, message(StompCommand.CONNECTED, "a", null, null)));
+        subscribe("a", "0", WebSocketConfig.commentsTopic(1L));
+        subscribe("a", "1", WebSocketConfig.reactionsTopic(1L));
+        subscribe("b", "0", WebSocketConfig.commentsTopic(1L));
+        subscribe("c", "0", WebSocketConfig.commentsTopic(2L));
+
+        assertEquals(3.0, gauge("reminisce.websocket.sessions"));
+        assertEquals(3.0, gauge("reminisce.websocket.subscriptions", "comments"));
+        assertEquals(2.0, gauge("reminisce.websocket.destinations", "comments"));
+        assertEquals(1.0, gauge("reminisce.websocket.subscriptions", "reactions"));
+        assertEquals(2.0, gauge("reminisce.websocket.subscribers.max"));
+
+        metrics.onDisconnect(new SessionDisconnectEvent(this, message(StompCommand.DISCONNECT, "a", null, null),
+                "a", CloseStatus.NORMAL));
+
+        assertEquals(2.0, gauge("reminisce.websocket.sessions"));
+        assertEquals(2.0, gauge("reminisce.websocket.subscriptions", "comments"));
+        assertEquals(0.0, gauge("reminisce.websocket.destinations", "reactions"));
+        assertEquals(1.0, gauge("reminisce.websocket.subscribers.max"));
+    }
+
+    @Test
+    void givenSubscription_whenUnsubscribed_thenDestinationIsDropped() {
+        subscribe("a", "0", WebSocketConfig.participantsTopic(1L));
+
+        metrics.onUnsubscribe(new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, "a", "0", null)));
+
+        assertEquals(0.0, gauge("reminisce.websocket.subscriptions", "participants"));
+        assertEquals(0.0, gauge("reminisce.websocket.destinations", "participants"));
+        assertEquals(1.0, gauge("reminisce.websocket.sessions"));
+    }
+
+    @Test
+    void givenChannelExecutor_whenMonitored_thenQueueDepthIsReadOnceInitialized() {
+        ThreadPoolTaskExecutor executor = ExecutionModel.PLATFORM.pool("ws-test-", 1, 10);
+        metrics.monitor("outbound", executor);
+
+        assertEquals(0.0, meterRegistry.get("reminisce.websocket.queue.depth").tag("channel", "outbound").gauge().value());
+
+        executor.initialize();
+        try {
+            executor.getThreadPoolExecutor().getQueue().add(() -> { });
+            assertEquals(1.0, meterRegistry.get("reminisce.websocket.queue.depth").tag("channel", "outbound").gauge().value());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void givenOutboundMessage_whenHandled_thenSendIsTimed() {
+        Message<byte[]> message = message(StompCommand.MESSAGE, "a", "0", WebSocketConfig.commentsTopic(1L));
+
+        metrics.afterMessageHandled(metrics.beforeHandle(message, null, null), null, null, null);
+
+        assertEquals(1, meterRegistry.get("reminisce.websocket.send").timer().count());
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        metrics.onSubscribe(new SessionSubscribeEvent(this,
+                message(StompCommand.SUBSCRIBE, sessionId, subscriptionId, destination)));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double gauge(String name, String topic) {
+        return meterRegistry.get(name).tag("topic", topic).gauge().value();
+    }
+
+    private static Message<byte[]> message(StompCommand command, String sessionId, String subscriptionId,
+                                           String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,176 @@
+package com.home.reminisce.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries on the hot paths against an embedded database and checks the
+ * execution plan of the SQL Hibernate generates for them: every table is reached through one
+ * of the indexes declared on the entities (and created by the changelog), not by a full scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.home.reminisce.repository.CapturingStatementInspector")
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ParticipationRepository participationRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void clearStatements() {
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    public void findByCreatedBy_usesCreatorIndex() {
+        sessionRepository.findByCreatedBy("user@example.com");
+
+        assertPlan("SESSION_CREATED_BY_IDX");
+    }
+
+    @Test
+    public void findSessionsOf_checksParticipationThroughIndex() {
+        sessionRepository.findFirstSessionsOf("user@example.com", PageRequest.ofSize(20));
+        sessionRepository.findSessionsOfBefore("user@example.com", Instant.now(), 1L, PageRequest.ofSize(20));
+
+        // "created by or participates in" cannot be answered from one index; the dashboard reads
+        // user_session instead, and only the participation lookup per candidate is checked here
+        List<String> plans = plans();
+        assertEquals(2, plans.size());
+        plans.forEach(plan -> {
+            assertTrue(plan.contains("PARTICIPATION_SESSION_PARTICIPANT_IDX"), plan);
+            assertEquals(List.of("SESSION"), scannedTables(plan), plan);
+        });
+    }
+
+    @Test
+    public void findBySessionId_usesSessionParticipantIndex() {
+        participationRepository.findBySessionId(1L);
+
+        assertPlan("PARTICIPATION_SESSION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void findBySessionIdAndParticipantName_usesSessionParticipantIndex() {
+        participationRepository.findBySessionIdAndParticipantName(1L, "user@example.com");
+
+        assertPlan("PARTICIPATION_SESSION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void findParticipantNamesBySessionId_usesSessionParticipantIndex() {
+        participationRepository.findParticipantNamesBySessionId(1L);
+
+        assertPlan("PARTICIPATION_SESSION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void countBySessionId_usesSessionParticipantIndex() {
+        participationRepository.countBySessionId(1L);
+
+        assertPlan("PARTICIPATION_SESSION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void deleteBySessionIdAndParticipantNameIn_selectsThroughSessionParticipantIndex() {
+        participationRepository.deleteBySessionIdAndParticipantNameIn(1L, List.of("a@example.com", "b@example.com"));
+
+        assertPlan("PARTICIPATION_SESSION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void findByParticipantName_usesParticipantIndex() {
+        participationRepository.findByParticipantName("user@example.com");
+
+        assertPlan("PARTICIPATION_PARTICIPANT_IDX");
+    }
+
+    @Test
+    public void findByCommentIdAndAuthoredBy_usesCommentAuthorIndex() {
+        reactionRepository.findByCommentIdAndAuthoredBy(1L, "user@example.com");
+
+        assertPlan("REACTION_COMMENT_AUTHOR_UK");
+    }
+
+    @Test
+    public void findByCommentId_doesNotScanReactions() {
+        reactionRepository.findByCommentId(1L);
+
+        // H2 indexes foreign keys on its own and prefers that index; Postgres uses the unique constraint
+        plans().forEach(plan -> assertEquals(List.of(), scannedTables(plan), plan));
+    }
+
+    @Test
+    public void findBoardComments_joinsOwnReactionThroughCommentAuthorIndex() {
+        commentRepository.findBoardComments(1L, "user@example.com");
+
+        assertPlan("REACTION_COMMENT_AUTHOR_UK");
+    }
+
+    @Test
+    public void findDashboardEntries_readsMembershipsThroughUserIndex() {
+        userSessionRepository.findFirstDashboardEntries("user@example.com", PageRequest.ofSize(20));
+        userSessionRepository.findDashboardEntriesBefore("user@example.com", Instant.now(), 1L, PageRequest.ofSize(20));
+
+        // session and activity rows are joined by primary key; only the user's memberships are sorted
+        assertPlan("USER_SESSION_USER_SESSION_UK");
+    }
+
+    private void assertPlan(String expectedIndex) {
+        List<String> plans = plans();
+        assertFalse(plans.isEmpty(), "no query was executed");
+        plans.forEach(plan -> {
+            assertTrue(plan.contains(expectedIndex), plan);
+            assertEquals(List.of(), scannedTables(plan), plan);
+        });
+    }
+
+    private List<String> plans() {
+        return CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                .map(this::explain)
+                .toList();
+    }
+
+    private String explain(String sql) {
+        // parameters are left unbound; the plan does not depend on their values
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    private static List<String> scannedTables(String plan) {
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        return matcher.results().map(result -> result.group(1)).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.home.reminisce.repository;
+
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL-only reaction upsert against a real PostgreSQL; H2 cannot execute
+ * {@code ON CONFLICT ... DO UPDATE ... RETURNING}. Skipped where Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EntityIdAllocator.class)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ReactionUpsertPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityIdAllocator idAllocator;
+
+    private long sessionId;
+
+    private Long commentId;
+
+    @BeforeEach
+    public void saveComment() {
+        sessionId = sessionRepository.save(Session.builder()
+                .name("Sprint 1")
+                .createdBy("author@example.com")
+                .createdOn(Instant.now())
+                .status(SessionStatus.IN_PROGRESS)
+                .build()).getId();
+        commentId = commentRepository.save(Comment.builder()
+                .sessionId(sessionId)
+                .authoredBy("author@example.com")
+                .createdOn(Instant.now())
+                .text("Good pace")
+                .build()).getId();
+    }
+
+    @Test
+    public void givenNoReaction_whenUpserted_thenInsertedWithAllocatedIdAndSessionReturned() {
+        long id = idAllocator.nextId(Reaction.class);
+
+        ReactionRepository.UpsertedReaction upserted = reactionRepository
+                .upsert(id, commentId, "user@example.com", Instant.now(), "LIKE").orElseThrow();
+
+        assertEquals(id, upserted.getId());
+        assertTrue(upserted.isInserted());
+        assertEquals(sessionId, upserted.getSessionId());
+        assertEquals(ReactionType.LIKE, reactionRepository.findById(id).orElseThrow().getReactionType());
+    }
+
+    @Test
+    public void givenReactionOfSameType_whenUpserted_thenNothingReturned() {
+        reactionRepository.upsert(idAllocator.nextId(Reaction.class), commentId, "user@example.com", Instant.now(), "LIKE");
+
+        assertTrue(reactionRepository.upsert(idAllocator.nextId(Reaction.class), commentId, "user@example.com",
+                Instant.now(), "LIKE").isEmpty());
+        assertEquals(1, reactionRepository.findByCommentId(commentId).size());
+    }
+
+    @Test
+    public void givenReactionOfOtherType_whenUpserted_thenReplacedInPlace() {
+        long id = reactionRepository.upsert(idAllocator.nextId(Reaction.class), commentId, "user@example.com",
+                Instant.now(), "LIKE").orElseThrow().getId();
+
+        ReactionRepository.UpsertedReaction upserted = reactionRepository.upsert(idAllocator.nextId(Reaction.class),
+                commentId, "user@example.com", Instant.now(), "DISLIKE").orElseThrow();
+
+        assertEquals(id, upserted.getId());
+        assertFalse(upserted.isInserted());
+        List<Reaction> reactions = reactionRepository.findByCommentId(commentId);
+        assertEquals(1, reactions.size());
+        assertEquals(ReactionType.DISLIKE, reactions.get(0).getReactionType());
+    }
+
+    @Test
+    public void givenSeveralUpserts_whenIdsAllocated_thenSequenceBlockNotUsedUpPerRow() {
+        long first = reactionRepository.upsert(idAllocator.nextId(Reaction.class), commentId, "a@example.com",
+                Instant.now(), "LIKE").orElseThrow().getId();
+        long second = reactionRepository.upsert(idAllocator.nextId(Reaction.class), commentId, "b@example.com",
+                Instant.now(), "LIKE").orElseThrow().getId();
+
+        // consecutive ids out of one pooled block, not one block of 50 per row
+        assertEquals(first + 1, second);
+    }
+}
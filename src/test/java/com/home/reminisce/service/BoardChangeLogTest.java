@@ -0,0 +1,136 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.BoardChange;
+import com.home.reminisce.model.BoardChangeType;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.repository.BoardChangeRepository;
+import com.home.reminisce.repository.SessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoardChangeLogTest {
+
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Captor
+    private ArgumentCaptor<List<BoardChange>> changes;
+
+    private BoardChangeLog changeLog;
+
+    @BeforeEach
+    void setup() {
+        changeLog = new BoardChangeLog(boardChangeRepository, sessionRepository, 10);
+    }
+
+    @Test
+    void givenSeveralParticipants_whenAdded_thenOneNumberIsAllocatedPerName() {
+        when(sessionRepository.advanceChangeSeq(1L, 2)).thenReturn(1);
+        when(sessionRepository.findChangeSeqById(1L)).thenReturn(Optional.of(42L));
+
+        changeLog.participantsAdded(1L, List.of("a@example.com", "b@example.com"));
+
+        verify(boardChangeRepository).saveAll(changes.capture());
+        assertEquals(List.of(41L, 42L), changes.getValue().stream().map(BoardChange::getSeq).toList());
+        assertEquals(List.of("a@example.com", "b@example.com"),
+                changes.getValue().stream().map(BoardChange::getParticipantName).toList());
+        assertEquals(BoardChangeType.PARTICIPANT_ADDED, changes.getValue().get(0).getType());
+        verify(boardChangeRepository, never()).deleteChangesUpTo(anyLong(), anyLong());
+    }
+
+    @Test
+    void givenMoreChangesThanRetained_whenRecorded_thenOnlyTheTailIsWrittenAndOlderEntriesArePruned() {
+        List<String> names = IntStream.range(0, 25).mapToObj(i -> "user" + i + "@example.com").toList();
+        when(sessionRepository.advanceChangeSeq(1L, 25)).thenReturn(1);
+        when(sessionRepository.findChangeSeqById(1L)).thenReturn(Optional.of(105L));
+
+        changeLog.participantsAdded(1L, names);
+
+        verify(boardChangeRepository).saveAll(changes.capture());
+        assertEquals(10, changes.getValue().size());
+        assertEquals(96L, changes.getValue().get(0).getSeq());
+        assertEquals("user15@example.com", changes.getValue().get(0).getParticipantName());
+        verify(boardChangeRepository).deleteChangesUpTo(1L, 95L);
+    }
+
+    @Test
+    void givenDeletedSession_whenChangeIsRecorded_thenNothingIsWritten() {
+        when(sessionRepository.advanceChangeSeq(1L, 1)).thenReturn(0);
+
+        changeLog.reactionCleared(1L, 7L);
+
+        verifyNoInteractions(boardChangeRepository);
+    }
+
+    @Test
+    void givenTransaction_whenChangesAreRecorded_thenTheyAreNumberedOncePerSessionBeforeCommit() {
+        when(sessionRepository.advanceChangeSeq(anyLong(), anyLong())).thenReturn(1);
+        when(sessionRepository.findChangeSeqById(1L)).thenReturn(Optional.of(3L));
+        when(sessionRepository.findChangeSeqById(2L)).thenReturn(Optional.of(8L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeLog.reactionCleared(2L, 7L);
+            changeLog.participantsAdded(1L, List.of("a@example.com"));
+            changeLog.reactionsSet(2L, List.of(8L, 9L));
+
+            verifyNoInteractions(sessionRepository, boardChangeRepository);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+            // sessions in id order, each counter advanced once for all of its changes
+            InOrder inOrder = inOrder(sessionRepository);
+            inOrder.verify(sessionRepository).advanceChangeSeq(1L, 1);
+            inOrder.verify(sessionRepository).advanceChangeSeq(2L, 3);
+            verify(boardChangeRepository, times(2)).saveAll(changes.capture());
+            List<BoardChange> secondSession = changes.getAllValues().get(1);
+            assertEquals(List.of(6L, 7L, 8L), secondSession.stream().map(BoardChange::getSeq).toList());
+            assertEquals(List.of(7L, 8L, 9L), secondSession.stream().map(BoardChange::getCommentId).toList());
+            assertEquals(BoardChangeType.REACTION_CLEARED, secondSession.get(0).getType());
+            assertEquals(BoardChangeType.REACTION_SET, secondSession.get(2).getType());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenTransactionRolledBack_whenChangesWereRecorded_thenNothingIsWritten() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeLog.commentDeleted(Comment.builder().id(7L).sessionId(1L).build());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(sessionRepository, boardChangeRepository);
+        assertFalse(TransactionSynchronizationManager.hasResource(changeLog));
+    }
+}
@@ -0,0 +1,122 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.ReactionDelta;
+import com.home.reminisce.model.Comment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class BoardEventCoalescerTest {
+
+    private static final String COMMENTS = "/topic/sessions/1/comments";
+    private static final String REACTIONS = "/topic/sessions/1/reactions";
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private BoardEventStreams eventStreams;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoardEventCoalescer coalescer;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void testPublish_WhenWindowIsZero_ShouldSendImmediately() {
+        coalescer = new BoardEventCoalescer(messagingTemplate, replayBuffer(0), eventStreams, meterRegistry, 0);
+        Comment comment = Comment.builder().id(1L).sessionId(1L).build();
+
+        coalescer.publish(COMMENTS, comment);
+
+        verify(messagingTemplate, times(1)).convertAndSend(COMMENTS, List.of(comment));
+    }
+
+    @Test
+    public void testPublish_WithinWindow_ShouldSendOneFramePerDestination() {
+        coalescer = new BoardEventCoalescer(messagingTemplate, replayBuffer(0), eventStreams, meterRegistry, 60_000);
+        Comment first = Comment.builder().id(1L).sessionId(1L).build();
+        Comment second = Comment.builder().id(2L).sessionId(1L).build();
+
+        coalescer.publish(COMMENTS, first);
+        coalescer.publish(COMMENTS, second);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        coalescer.flushAll();
+
+        verify(messagingTemplate, times(1)).convertAndSend(COMMENTS, List.of(first, second));
+        assertEquals(1, meterRegistry.get("reminisce.websocket.batch.size").summary().count());
+        assertEquals(2.0, meterRegistry.get("reminisce.websocket.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    public void testPublishReaction_RepeatedToggles_ShouldCollapseIntoNetDeltas() {
+        coalescer = new BoardEventCoalescer(messagingTemplate, replayBuffer(0), eventStreams, meterRegistry, 60_000);
+
+        coalescer.publishReaction(REACTIONS, 10L, 1, 0);
+        coalescer.publishReaction(REACTIONS, 10L, -1, 1);
+        coalescer.publishReaction(REACTIONS, 10L, 1, -1);
+        coalescer.publishReaction(REACTIONS, 11L, 1, 0);
+        coalescer.publishReaction(REACTIONS, 11L, -1, 0);
+        coalescer.flushAll();
+
+        verify(messagingTemplate, times(1)).convertAndSend(REACTIONS, List.of(new ReactionDelta(10L, 1, 0)));
+    }
+
+    @Test
+    public void testPublishReaction_WhenTogglesCancelOut_ShouldNotSendFrame() {
+        coalescer = new BoardEventCoalescer(messagingTemplate, replayBuffer(0), eventStreams, meterRegistry, 60_000);
+
+        coalescer.publishReaction(REACTIONS, 10L, 1, 0);
+        coalescer.publishReaction(REACTIONS, 10L, -1, 0);
+        coalescer.flushAll();
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    public void testFlush_WhenReplayIsEnabled_ShouldStampFrameWithItsSequence() {
+        BoardEventReplayBuffer replayBuffer = replayBuffer(10);
+        coalescer = new BoardEventCoalescer(messagingTemplate, replayBuffer, eventStreams, meterRegistry, 0);
+        Comment comment = Comment.builder().id(1L).sessionId(1L).build();
+
+        coalescer.publish(COMMENTS, comment);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq(COMMENTS), eq((Object) List.of(comment)), headers.capture());
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        long seq = Long.parseLong((String) headers.getValue().get(BoardEventReplayBuffer.SEQ_HEADER));
+        assertEquals(List.of(new BoardEventReplayBuffer.Frame(seq, List.of(comment))),
+                replayBuffer.framesAfter(COMMENTS, seq - 1).orElseThrow());
+        verify(eventStreams).send(COMMENTS, seq, List.of(comment));
+    }
+
+    private BoardEventReplayBuffer replayBuffer(int frames) {
+        return new BoardEventReplayBuffer(meterRegistry, "simple", frames, Duration.ofMinutes(10), 16);
+    }
+}
@@ -0,0 +1,64 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.ParticipantsEvent;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.ReactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class BoardEventPublisherTest {
+
+    @Mock
+    private BoardEventCoalescer coalescer;
+
+    private BoardEventPublisher boardEventPublisher;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        boardEventPublisher = new BoardEventPublisher(coalescer);
+    }
+
+    @Test
+    public void testCommentCreated_ShouldPublishToSessionCommentsTopic() {
+        Comment comment = Comment.builder().id(5L).sessionId(42L).text("sample comment").build();
+
+        boardEventPublisher.commentCreated(comment);
+
+        verify(coalescer, times(1)).publish("/topic/sessions/42/comments", comment);
+        verifyNoMoreInteractions(coalescer);
+    }
+
+    @Test
+    public void testReactionChanged_WhenToggledFromDislikeToLike_ShouldPublishNetDelta() {
+        boardEventPublisher.reactionChanged(42L, 5L, ReactionType.DISLIKE, ReactionType.LIKE);
+
+        verify(coalescer, times(1)).publishReaction("/topic/sessions/42/reactions", 5L, 1, -1);
+        verifyNoMoreInteractions(coalescer);
+    }
+
+    @Test
+    public void testReactionChanged_WhenCleared_ShouldPublishDecrement() {
+        boardEventPublisher.reactionChanged(42L, 5L, ReactionType.LIKE, null);
+
+        verify(coalescer, times(1)).publishReaction("/topic/sessions/42/reactions", 5L, -1, 0);
+    }
+
+    @Test
+    public void testParticipantsAddedAndRemoved_ShouldPublishToSessionParticipantsTopic() {
+        boardEventPublisher.participantsAdded(42L, List.of(Participation.builder().participantName("John").build()));
+        boardEventPublisher.participantsRemoved(42L, List.of("Jane"));
+
+        verify(coalescer, times(1)).publish("/topic/sessions/42/participants",
+                new ParticipantsEvent(42L, List.of("John"), List.of()));
+        verify(coalescer, times(1)).publish("/topic/sessions/42/participants",
+                new ParticipantsEvent(42L, List.of(), List.of("Jane")));
+    }
+}
@@ -0,0 +1,62 @@
+package com.home.reminisce.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardEventReplayBufferTest {
+
+    private static final String COMMENTS = "/topic/sessions/1/comments";
+
+    private final BoardEventReplayBuffer buffer = replayBuffer("simple", 3);
+
+    @Test
+    void givenFramesOfSeveralDestinations_whenAppended_thenEachDestinationIsNumberedOnItsOwn() {
+        long first = buffer.append(COMMENTS, "a");
+        long second = buffer.append(COMMENTS, "b");
+        long other = buffer.append("/topic/sessions/2/comments", "c");
+
+        assertEquals(first + 1, second);
+        assertEquals(Optional.of(List.of(new BoardEventReplayBuffer.Frame(second, "b"))),
+                buffer.framesAfter(COMMENTS, first));
+        assertEquals(Optional.of(List.of()), buffer.framesAfter("/topic/sessions/2/comments", other));
+    }
+
+    @Test
+    void givenCursorOlderThanTheKeptFrames_whenFramesAfter_thenClientHasToResync() {
+        long first = buffer.append(COMMENTS, "a");
+        for (String payload : List.of("b", "c", "d")) {
+            buffer.append(COMMENTS, payload);
+        }
+
+        assertTrue(buffer.framesAfter(COMMENTS, first - 1).isEmpty());
+        assertEquals(List.of("b", "c", "d"), buffer.framesAfter(COMMENTS, first).orElseThrow().stream()
+                .map(BoardEventReplayBuffer.Frame::payload).toList());
+    }
+
+    @Test
+    void givenCursorAheadOfTheBuffer_whenFramesAfter_thenClientHasToResync() {
+        long last = buffer.append(COMMENTS, "a");
+
+        assertTrue(buffer.framesAfter(COMMENTS, last + 1).isEmpty());
+        assertTrue(buffer.framesAfter("/topic/sessions/3/comments", last).isEmpty());
+    }
+
+    @Test
+    void givenRelayBroker_whenCreated_thenReplayIsDisabled() {
+        assertFalse(replayBuffer("relay", 3).enabled());
+        assertFalse(replayBuffer("simple", 0).enabled());
+        assertTrue(buffer.enabled());
+    }
+
+    private static BoardEventReplayBuffer replayBuffer(String brokerMode, int frames) {
+        return new BoardEventReplayBuffer(new SimpleMeterRegistry(), brokerMode, frames, Duration.ofMinutes(10), 16);
+    }
+}
@@ -1,6 +1,9 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardComment;
 import com.home.reminisce.api.model.CommentRequest;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.PageCursor;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Comment;
 import com.home.reminisce.model.Session;
@@ -11,13 +14,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -31,7 +38,16 @@ public class CommentServiceImplTest {
     private SessionService sessionService;
 
     @Mock
-    private ParticipationService participationService;
+    private SessionMembershipIndex membershipIndex;
+
+    @Mock
+    private UserSessionService userSessionService;
+
+    @Mock
+    private CompletedBoardCache completedBoards;
+
+    @Mock
+    private BoardChangeLog changeLog;
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -55,7 +71,8 @@ public class CommentServiceImplTest {
         when(sessionService.findById(anyLong())).thenReturn(session);
 
         commentRepository = Mockito.mock(CommentRepository.class);
-        commentService = new CommentServiceImpl(commentRepository, sessionService, participationService);
+        commentService = new CommentServiceImpl(commentRepository, sessionService, membershipIndex, userSessionService,
+                completedBoards, changeLog);
     }
 
     @Test
@@ -69,11 +86,13 @@ public class CommentServiceImplTest {
 
         // Act
         when(sessionService.findById(anyLong())).thenReturn(session);
+        when(membershipIndex.isMember(session, "user@example.com")).thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(expectedComment);
         Comment createdComment = commentService.createComment(commentRequest);
 
         // Assert
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(userSessionService, times(1)).commentAdded(1L);
         assert createdComment.equals(expectedComment);
     }
 
@@ -182,6 +201,25 @@ public class CommentServiceImplTest {
         verify(commentRepository, times(0)).save(any(Comment.class));
     }
 
+    @Test
+    public void testGetCommentsPage_WhenCursorGiven_ShouldSeekPastItWithOneExtraRow() {
+        // Arrange
+        Instant createdOn = Instant.parse("2023-10-01T10:15:30Z");
+        String cursor = new PageCursor(createdOn, 5L).encode();
+        BoardComment next = new BoardComment(6L, 1L, "user@example.com", createdOn.plusSeconds(1), "Next", 1, 0, 0, null);
+        BoardComment last = new BoardComment(7L, 1L, "user@example.com", createdOn.plusSeconds(2), "Last", 1, 0, 0, null);
+
+        // Act
+        when(commentRepository.findBoardCommentsAfter(1L, "user@example.com", createdOn, 5L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(next, last));
+        CursorPage<BoardComment> page = commentService.getCommentsPage(1L, cursor, 1);
+
+        // Assert
+        verify(sessionService, times(1)).findById(1L);
+        assertEquals(List.of(next), page.items());
+        assertEquals(new PageCursor(next.createdOn(), 6L), PageCursor.decode(page.nextCursor()));
+    }
+
 //    @Test
 //    public void testCreateComment_UserNotSessionParticipant_ShouldThrowUnauthorizedAccessException() {
 //        Session otherSession = Session.builder()
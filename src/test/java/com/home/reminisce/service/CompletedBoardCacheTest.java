@@ -0,0 +1,109 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.SerializedBoard;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletedBoardCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CompletedBoardCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new CompletedBoardCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void givenCachedBoard_whenReadAgain_thenItIsNotBuiltTwice() throws IOException {
+        SerializedBoard first = cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+        SerializedBoard second = cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.gzipped()))) {
+            assertArrayEquals(first.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void givenConcurrentFirstReads_whenBoardIsBuilt_thenItIsBuiltOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SerializedBoard>> reads = IntStream.range(0, 8)
+                    .mapToObj(reader -> readers.submit(() -> {
+                        start.await();
+                        return cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<SerializedBoard> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenBoardsOfSeveralViewers_whenSessionIsInvalidated_thenOnlyItsBoardsAreRebuilt() {
+        cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+        cache.get(1L, "b@example.com", () -> board(1L, "Retro"));
+        cache.get(2L, "a@example.com", () -> board(2L, "Other"));
+
+        cache.invalidate(1L);
+        cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+        cache.get(1L, "b@example.com", () -> board(1L, "Retro"));
+        cache.get(2L, "a@example.com", () -> board(2L, "Other"));
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void givenEtag_whenMatchedAgainstIfNoneMatch_thenEitherRepresentationMatchesWeakly() {
+        SerializedBoard board = cache.get(1L, "a@example.com", () -> board(1L, "Retro"));
+        SerializedBoard other = cache.get(2L, "a@example.com", () -> board(2L, "Other"));
+
+        assertNotEquals(board.etag(false), other.etag(false));
+        assertTrue(board.matches("\"stale\", W/" + board.etag(true)));
+        assertTrue(board.matches(board.etag(false)));
+        assertTrue(board.matches("*"));
+        assertFalse(board.matches(other.etag(false)));
+    }
+
+    private BoardSnapshot board(long id, String name) {
+        loads.incrementAndGet();
+        return BoardSnapshot.of(Session.builder().id(id).name(name).createdBy("a@example.com")
+                .status(SessionStatus.COMPLETED).build(), List.of());
+    }
+}
@@ -0,0 +1,163 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.home.reminisce.api.model.CommentExportRow;
+import com.home.reminisce.exceptions.UnauthorizedAccessException;
+import com.home.reminisce.repository.CommentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    private static final Instant CREATED_ON = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    private final String authenticatedUser = "user@example.com";
+
+    private ExportService exportService;
+
+    @BeforeEach
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(sessionService, commentRepository, transactionManager, objectMapper, 2);
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenCommentsWithSeparators_whenExportedAsCsv_thenFieldsAreQuoted() throws IOException {
+        when(commentRepository.findFirstExportRows(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                row(1L, "Retro, week 1", 10L, "Plain"),
+                row(1L, "Retro, week 1", 11L, "Said \"hi\"\nthen left")));
+
+        String csv = write(exportService.exportSession(1L, ExportFormat.CSV));
+
+        assertEquals("""
+                sessionId,sessionName,commentId,createdOn,authoredBy,categoryId,text,likeCount,dislikeCount
+                1,"Retro, week 1",10,2024-05-01T10:15:30Z,user@example.com,2,Plain,3,1
+                1,"Retro, week 1",11,2024-05-01T10:15:30Z,user@example.com,2,"Said ""hi""
+                then left",3,1
+                """, csv);
+    }
+
+    @Test
+    public void givenCommentsStartingLikeFormulas_whenExportedAsCsv_thenTheyAreWrittenAsText() throws IOException {
+        when(commentRepository.findFirstExportRows(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                row(1L, "=HYPERLINK(\"http://example.com\")", 10L, "+1"),
+                row(1L, "@SUM(A1)", 11L, "-2, really")));
+
+        List<String> lines = write(exportService.exportSession(1L, ExportFormat.CSV)).lines().toList();
+
+        assertEquals("1,\"'=HYPERLINK(\"\"http://example.com\"\")\",10,2024-05-01T10:15:30Z,user@example.com,2,\"'+1\",3,1",
+                lines.get(1));
+        assertEquals("1,\"'@SUM(A1)\",11,2024-05-01T10:15:30Z,user@example.com,2,\"'-2, really\",3,1", lines.get(2));
+    }
+
+    @Test
+    public void givenMoreCommentsThanAChunk_whenExported_thenEachChunkIsReadInItsOwnTransactionAfterTheLastRow() throws IOException {
+        when(commentRepository.findFirstExportRows(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "Retro", 10L, "First"), row(1L, "Retro", 11L, "Second")));
+        when(commentRepository.findExportRowsAfter(eq(1L), eq(CREATED_ON), eq(11L), any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "Retro", 12L, "Third")));
+
+        String ndjson = write(exportService.exportSession(1L, ExportFormat.NDJSON));
+
+        assertEquals(3, ndjson.lines().count());
+        assertTrue(ndjson.indexOf("Second") < ndjson.indexOf("Third"));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void givenComments_whenExportedAsNdjson_thenOneObjectIsWrittenPerLine() throws IOException {
+        when(commentRepository.findFirstExportRows(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                row(1L, "Retro", 10L, "First"), row(1L, "Retro", 11L, "Second")));
+
+        String ndjson = write(exportService.exportSession(1L, ExportFormat.NDJSON));
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("{\"sessionId\":1,\"sessionName\":\"Retro\",\"commentId\":10,\"createdOn\":\"2024-05-01T10:15:30Z\"," +
+                "\"authoredBy\":\"user@example.com\",\"categoryId\":2,\"text\":\"First\",\"likeCount\":3,\"dislikeCount\":1}",
+                lines.get(0));
+        assertTrue(ndjson.endsWith("\n"));
+    }
+
+    @Test
+    public void givenUser_whenAllSessionsAreExported_thenOnlySessionsVisibleToThemAreQueried() throws IOException {
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(authenticatedUser);
+        when(commentRepository.findFirstExportRowsVisibleTo(eq(authenticatedUser), any(Pageable.class)))
+                .thenReturn(List.of(row(2L, "Other", 20L, "Text")));
+
+        StreamingResponseBody body = exportService.exportSessions(ExportFormat.CSV);
+        // the body is written from another thread, after the security context is gone
+        SecurityContextHolder.clearContext();
+
+        assertTrue(write(body).contains("2,Other,20,"));
+        verify(sessionService, never()).findById(anyLong());
+    }
+
+    @Test
+    public void givenNonMember_whenSessionIsExported_thenRejectedBeforeAnythingIsQueried() {
+        when(sessionService.findById(1L)).thenThrow(new UnauthorizedAccessException("You are not authorized to view this session."));
+
+        assertThrows(UnauthorizedAccessException.class, () -> exportService.exportSession(1L, ExportFormat.NDJSON));
+
+        verifyNoInteractions(commentRepository, transactionManager);
+    }
+
+    private static CommentExportRow row(Long sessionId, String sessionName, Long commentId, String text) {
+        return new CommentExportRow(sessionId, sessionName, commentId, CREATED_ON, "user@example.com", 2, text, 3, 1);
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,264 @@
+package com.home.reminisce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.home.reminisce.api.model.BoardImportResult;
+import com.home.reminisce.api.model.RosterImportResult;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.ParticipationRepository;
+import com.home.reminisce.repository.ReactionRepository;
+import com.home.reminisce.repository.SessionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private ParticipationRepository participationRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ReactionRepository reactionRepository;
+
+    @Mock
+    private SessionMembershipIndex membershipIndex;
+
+    @Mock
+    private UserSessionService userSessionService;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    private final String authenticatedUser = "user@example.com";
+
+    private ImportService importService;
+
+    @BeforeEach
+    public void setup() {
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(authenticatedUser);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        importService = new ImportServiceImpl(sessionService, sessionRepository, participationRepository, commentRepository,
+                reactionRepository, membershipIndex, userSessionService, changeLog, boardEventPublisher, entityManager, transactionManager, objectMapper, 2);
+    }
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenCsvRoster_whenImported_thenExistingMembersAndDuplicatesSkippedAndWrittenInBatches() throws IOException {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).build();
+        when(sessionService.findById(1L)).thenReturn(session);
+        List<List<String>> batches = captureParticipationBatches("existing@example.com");
+
+        RosterImportResult result = importService.importRoster(1L, body("""
+                email,team
+                a@example.com,blue
+                "b@example.com",red
+                existing@example.com,blue
+                user@example.com,red
+                a@example.com,blue
+
+                c@example.com,green
+                """), RosterFormat.CSV);
+
+        assertEquals(3, result.added());
+        assertEquals(4, result.skipped());
+        assertEquals(List.of(List.of("a@example.com", "b@example.com"), List.of("c@example.com")), batches);
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(userSessionService).participantsAdded(1L, List.of("a@example.com", "b@example.com"));
+        verify(userSessionService).participantsAdded(1L, List.of("c@example.com"));
+        verify(boardEventPublisher).participantNamesAdded(1L, List.of("a@example.com", "b@example.com"));
+        verify(boardEventPublisher).participantNamesAdded(1L, List.of("c@example.com"));
+        verify(membershipIndex, times(2)).invalidate(1L);
+    }
+
+    @Test
+    public void givenCsvRosterWithQuotedCommas_whenImported_thenNamesReadFromHeaderColumn() throws IOException {
+        when(sessionService.findById(1L)).thenReturn(Session.builder().id(1L).createdBy(authenticatedUser).build());
+        List<List<String>> batches = captureParticipationBatches();
+
+        RosterImportResult result = importService.importRoster(1L, body("""
+                team,email
+                "Blue, Inc.",a@example.com
+                "Red ""B"" team",b@example.com
+                """), RosterFormat.CSV);
+
+        assertEquals(2, result.added());
+        assertEquals(0, result.skipped());
+        assertEquals(List.of(List.of("a@example.com", "b@example.com")), batches);
+    }
+
+    @Test
+    public void givenNdjsonRoster_whenImported_thenStringsAndObjectsAccepted() throws IOException {
+        when(sessionService.findById(1L)).thenReturn(Session.builder().id(1L).createdBy(authenticatedUser).build());
+        List<List<String>> batches = captureParticipationBatches();
+
+        RosterImportResult result = importService.importRoster(1L, body("""
+                "a@example.com"
+                {"participantName": "b@example.com"}
+                {"participantName": "a@example.com"}
+                """), RosterFormat.NDJSON);
+
+        assertEquals(2, result.added());
+        assertEquals(1, result.skipped());
+        assertEquals(List.of(List.of("a@example.com", "b@example.com")), batches);
+    }
+
+    @Test
+    public void givenMalformedNdjson_whenImported_thenIOExceptionAndNothingWritten() {
+        when(sessionService.findById(1L)).thenReturn(Session.builder().id(1L).createdBy(authenticatedUser).build());
+
+        assertThrows(IOException.class, () -> importService.importRoster(1L, body("{\"participantName\": "), RosterFormat.NDJSON));
+        verify(participationRepository, never()).saveAll(anyIterable());
+        verify(membershipIndex, never()).invalidate(any());
+    }
+
+    @Test
+    public void givenArrayOfBoards_whenImported_thenCountersComputedAndOneReactionPerAuthorKept() throws IOException {
+        AtomicLong ids = new AtomicLong(100);
+        when(sessionRepository.save(any(Session.class))).thenAnswer(invocation -> {
+            Session session = invocation.getArgument(0);
+            session.setId(ids.incrementAndGet());
+            return session;
+        });
+        List<Comment> comments = new ArrayList<>();
+        when(commentRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Comment> batch = invocation.getArgument(0);
+            batch.forEach(comment -> {
+                comment.setId(ids.incrementAndGet());
+                comments.add(comment);
+            });
+            return null;
+        });
+        List<Reaction> reactions = new ArrayList<>();
+        when(reactionRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Reaction> batch = invocation.getArgument(0);
+            batch.forEach(reactions::add);
+            return null;
+        });
+
+        BoardImportResult result = importService.importBoards(body("""
+                [
+                  {"name": "Sprint 1", "createdOn": "2022-01-10T09:00:00Z", "status": "COMPLETED",
+                   "participants": ["a@example.com", "a@example.com", "user@example.com"],
+                   "comments": [
+                     {"text": "Good pace", "authoredBy": "a@example.com", "categoryId": 1,
+                      "reactions": [
+                        {"authoredBy": "b@example.com", "reactionType": "DISLIKE"},
+                        {"authoredBy": "b@example.com", "reactionType": "LIKE"},
+                        {"authoredBy": "c@example.com", "reactionType": "LIKE"}
+                      ]},
+                     {"text": "Too many meetings", "authoredBy": "b@example.com", "categoryId": 2}
+                   ]},
+                  {"name": "Sprint 2"}
+                ]
+                """));
+
+        assertEquals(List.of(101L, 104L), result.sessionIds());
+        assertEquals(2, result.comments());
+        assertEquals(2, result.reactions());
+        assertEquals(2, comments.get(0).getLikeCount());
+        assertEquals(0, comments.get(0).getDislikeCount());
+        assertEquals(102L, reactions.get(0).getCommentId());
+        assertEquals(Set.of("b@example.com", "c@example.com"),
+                Set.of(reactions.get(0).getAuthoredBy(), reactions.get(1).getAuthoredBy()));
+        verify(userSessionService).sessionImported(any(Session.class), eq(2L), eq(Set.of("a@example.com")));
+        verify(userSessionService).sessionImported(any(Session.class), eq(0L), eq(Set.of()));
+    }
+
+    @Test
+    public void givenBoardWithoutName_whenImported_thenIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> importService.importBoards(body("{\"comments\": []}")));
+        verify(sessionRepository, never()).save(any());
+    }
+
+    /**
+     * Records each written batch and answers the membership lookup from the given members plus
+     * everything written so far, as the database would.
+     */
+    private List<List<String>> captureParticipationBatches(String... existingMembers) {
+        Set<String> members = new HashSet<>(List.of(existingMembers));
+        when(participationRepository.findParticipantNamesBySessionIdAndParticipantNameIn(eq(1L), anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<String> names = invocation.getArgument(1);
+                    return names.stream().filter(members::contains).toList();
+                });
+        List<List<String>> batches = new ArrayList<>();
+        when(participationRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Participation> batch = invocation.getArgument(0);
+            List<String> names = new ArrayList<>();
+            batch.forEach(participation -> names.add(participation.getParticipantName()));
+            members.addAll(names);
+            batches.add(names);
+            return null;
+        });
+        return batches;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,79 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.security.Role;
+import com.home.reminisce.security.TokenClaims;
+import com.home.reminisce.security.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JwtService jwtService;
+
+    private final User user = User.builder().displayName("user@example.com").role(Role.USER).build();
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(meterRegistry, 100);
+    }
+
+    @Test
+    public void testParseValidToken_WhenTokenIsValid_ShouldReturnSubjectAndExpiry() {
+        String token = jwtService.generateToken(user);
+
+        Optional<TokenClaims> claims = jwtService.parseValidToken(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("user@example.com", claims.get().subject());
+        assertTrue(claims.get().expiresAt().isAfter(Instant.now()));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    public void testGenerateToken_ShouldEmbedRoleClaim() {
+        String token = jwtService.generateToken(user);
+
+        assertEquals(List.of("USER"), jwtService.parseValidToken(token).orElseThrow().roles());
+    }
+
+    @Test
+    public void testParseValidToken_WhenCalledRepeatedly_ShouldVerifyOnce() {
+        String token = jwtService.generateToken(user);
+
+        jwtService.parseValidToken(token);
+        jwtService.parseValidToken(token);
+        jwtService.parseValidToken(token);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testParseValidToken_WhenSignatureIsTampered_ShouldReturnEmpty() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.parseValidToken(tampered).isEmpty());
+        assertTrue(jwtService.parseValidToken("not-a-token").isEmpty());
+    }
+
+    @Test
+    public void testIsTokenValid_WhenTokenBelongsToAnotherUser_ShouldReturnFalse() {
+        String token = jwtService.generateToken(user);
+        User anotherUser = User.builder().displayName("another.user@example.com").role(Role.USER).build();
+
+        assertFalse(jwtService.isTokenValid(token, anotherUser));
+    }
+}
@@ -1,6 +1,7 @@
 package com.home.reminisce.service;
 
 import com.home.reminisce.repository.ParticipationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
@@ -11,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -27,6 +29,12 @@ class ParticipationServiceNoAuthTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private UserSessionService userSessionService;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -40,7 +48,9 @@ class ParticipationServiceNoAuthTest {
     @BeforeEach
     public void setup(TestInfo info) {
         MockitoAnnotations.openMocks(this);
-        participationService = new ParticipationServiceImpl(sessionService, participationRepository);
+        participationService = new ParticipationServiceImpl(sessionService, participationRepository,
+                new SessionMembershipIndex(participationRepository, new SimpleMeterRegistry(), 1000, 100, Duration.ofMinutes(10)),
+                userSessionService, changeLog);
     }
 
     @Test
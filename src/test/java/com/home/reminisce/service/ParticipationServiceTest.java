@@ -4,6 +4,7 @@ import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Participation;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.repository.ParticipationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +31,12 @@ class ParticipationServiceTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private UserSessionService userSessionService;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -47,7 +55,9 @@ class ParticipationServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(authenticatedUser);
 
-        participationService = new ParticipationServiceImpl(sessionService, participationRepository);
+        participationService = new ParticipationServiceImpl(sessionService, participationRepository,
+                new SessionMembershipIndex(participationRepository, new SimpleMeterRegistry(), 1000, 100, Duration.ofMinutes(10)),
+                userSessionService, changeLog);
     }
 
     @Test
@@ -60,6 +70,7 @@ class ParticipationServiceTest {
         verify(sessionService, times(1)).findById(anyLong());
         verify(participationRepository, never()).findBySessionId(anyLong());
         verify(participationRepository, times(1)).saveAll(anyIterable());
+        verify(userSessionService, times(1)).participantsAdded(1L, List.of("new_participant@example.com"));
     }
 
     @Test
@@ -103,6 +114,7 @@ class ParticipationServiceTest {
         verify(participationRepository, never()).findBySessionId(anyLong());
         verify(participationRepository, times(1))
                 .deleteBySessionIdAndParticipantNameIn(1L, List.of("participant1@example.com"));
+        verify(userSessionService, times(1)).participantsRemoved(1L, List.of("participant1@example.com"));
     }
 
     @Test
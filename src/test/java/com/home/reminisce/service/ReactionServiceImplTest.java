@@ -4,27 +4,30 @@ import com.home.reminisce.api.model.ReactionRequest;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
 import com.home.reminisce.model.Reaction;
 import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.EntityIdAllocator;
 import com.home.reminisce.repository.ReactionRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ReactionServiceImplTest {
@@ -34,7 +37,25 @@ public class ReactionServiceImplTest {
     private ReactionServiceImpl reactionService;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private CommentRepository commentRepository;
+
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private ReactionWriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CompletedBoardCache completedBoards;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
+    @Mock
+    private EntityIdAllocator idAllocator;
 
     @Mock
     private SecurityContext securityContext;
@@ -50,7 +71,8 @@ public class ReactionServiceImplTest {
         when(authentication.getName()).thenReturn("user@example.com");
 
         reactionRepository = Mockito.mock(ReactionRepository.class);
-        reactionService = new ReactionServiceImpl(reactionRepository, messagingTemplate);
+        reactionService = new ReactionServiceImpl(reactionRepository, commentRepository, boardEventPublisher,
+                writeBehindBuffer, transactionManager, completedBoards, changeLog, idAllocator);
     }
 
     @Test
@@ -61,16 +83,8 @@ public class ReactionServiceImplTest {
         ReactionRequest reactionRequest = new ReactionRequest(commentId, ReactionType.LIKE);
 
         // Mocking ReactionRepository
-        List<Reaction> emptyReactionsList = new ArrayList<>();
-        Mockito.when(reactionRepository.findByCommentIdAndAuthoredBy(commentId, userEmail))
-                .thenReturn(emptyReactionsList);
-        Mockito.when(reactionRepository.save(any(Reaction.class)))
-                .thenReturn(Reaction.builder()
-                        .createdOn(Instant.now())
-                        .reactionType(reactionRequest.reactionType())
-                        .authoredBy(userEmail)
-                        .commentId(commentId)
-                        .build());
+        Mockito.when(reactionRepository.upsert(anyLong(), eq(commentId), eq(userEmail), any(Instant.class), eq("LIKE")))
+                .thenReturn(Optional.of(upserted(7L, true, 3L)));
 
         // Act
         ResponseEntity<Reaction> response = reactionService.createReaction(reactionRequest);
@@ -78,10 +92,15 @@ public class ReactionServiceImplTest {
         // Assert
         Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
         Assertions.assertNotNull(response.getBody());
+        Assertions.assertEquals(7L, response.getBody().getId());
         Assertions.assertEquals(reactionRequest.reactionType(), response.getBody().getReactionType());
+        Assertions.assertEquals(userEmail, response.getBody().getAuthoredBy());
 
-        verify(reactionRepository, times(1)).save(any(Reaction.class));
+        verify(reactionRepository, never()).save(any(Reaction.class));
         verify(reactionRepository, never()).delete(any(Reaction.class));
+        verify(commentRepository, times(1)).adjustReactionCounts(commentId, 1, 0);
+        verify(commentRepository, never()).findSessionIdById(anyLong());
+        verify(boardEventPublisher).reactionChanged(3L, commentId, null, ReactionType.LIKE);
     }
 
     @Test
@@ -91,16 +110,9 @@ public class ReactionServiceImplTest {
         Long commentId = 1L;
         ReactionRequest reactionRequest = new ReactionRequest(commentId, ReactionType.LIKE);
 
-        // Mocking ReactionRepository
-        List<Reaction> reactionsList = new ArrayList<>();
-        reactionsList.add(Reaction.builder()
-                .createdOn(Instant.now())
-                .reactionType(ReactionType.LIKE)
-                .authoredBy(userEmail)
-                .commentId(commentId)
-                .build());
-        Mockito.when(reactionRepository.findByCommentIdAndAuthoredBy(commentId, userEmail))
-                .thenReturn(reactionsList);
+        // Mocking ReactionRepository: the upsert leaves a reaction of the same type untouched
+        Mockito.when(reactionRepository.upsert(anyLong(), eq(commentId), eq(userEmail), any(Instant.class), eq("LIKE")))
+                .thenReturn(Optional.empty());
 
         // Act
         ResponseEntity<Reaction> response = reactionService.createReaction(reactionRequest);
@@ -109,8 +121,8 @@ public class ReactionServiceImplTest {
         Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
         Assertions.assertNull(response.getBody());
 
-        verify(reactionRepository, never()).save(any(Reaction.class));
-        verify(reactionRepository, never()).delete(any(Reaction.class));
+        verify(commentRepository, never()).adjustReactionCounts(anyLong(), anyLong(), anyLong());
+        verifyNoInteractions(boardEventPublisher);
     }
 
     @Test
@@ -120,23 +132,9 @@ public class ReactionServiceImplTest {
         Long commentId = 1L;
         ReactionRequest reactionRequest = new ReactionRequest(commentId, ReactionType.LIKE);
 
-        // Mocking ReactionRepository
-        List<Reaction> reactionsList = new ArrayList<>();
-        reactionsList.add(Reaction.builder()
-                .createdOn(Instant.now())
-                .reactionType(ReactionType.DISLIKE)
-                .authoredBy(userEmail)
-                .commentId(commentId)
-                .build());
-        when(reactionRepository.findByCommentIdAndAuthoredBy(commentId, userEmail))
-                .thenReturn(reactionsList);
-        when(reactionRepository.save(any(Reaction.class)))
-                .thenReturn(Reaction.builder()
-                        .createdOn(Instant.now())
-                        .reactionType(reactionRequest.reactionType())
-                        .authoredBy(userEmail)
-                        .commentId(commentId)
-                        .build());
+        // Mocking ReactionRepository: the existing dislike is replaced in place
+        when(reactionRepository.upsert(anyLong(), eq(commentId), eq(userEmail), any(Instant.class), eq("LIKE")))
+                .thenReturn(Optional.of(upserted(5L, false, 3L)));
 
         // Act
         ResponseEntity<Reaction> response = reactionService.createReaction(reactionRequest);
@@ -144,10 +142,12 @@ public class ReactionServiceImplTest {
         // Assert
         Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
         Assertions.assertNotNull(response.getBody());
+        Assertions.assertEquals(5L, response.getBody().getId());
         Assertions.assertEquals(reactionRequest.reactionType(), response.getBody().getReactionType());
 
-        verify(reactionRepository, times(1)).save(any(Reaction.class));
-        verify(reactionRepository, times(1)).delete(any(Reaction.class));
+        verify(reactionRepository, never()).delete(any(Reaction.class));
+        verify(commentRepository, times(1)).adjustReactionCounts(commentId, 1, -1);
+        verify(boardEventPublisher).reactionChanged(3L, commentId, ReactionType.DISLIKE, ReactionType.LIKE);
     }
 
     @Test
@@ -199,6 +199,7 @@ public class ReactionServiceImplTest {
 
         // Mocking ReactionRepository
         Reaction existingReaction = Reaction.builder()
+                .commentId(2L)
                 .reactionType(ReactionType.DISLIKE)
                 .authoredBy(userEmail)
                 .build();
@@ -211,6 +212,88 @@ public class ReactionServiceImplTest {
         // Assert
         verify(reactionRepository, times(1)).findById(reactionId);
         verify(reactionRepository, times(1)).delete(any(Reaction.class));
+        verify(commentRepository, times(1)).adjustReactionCounts(2L, 0, -1);
+    }
+
+    @Test
+    public void testCreateReaction_WhenWriteBehindEnabled_ShouldAnswerFromBufferWithoutWriting() {
+        // Arrange
+        Long commentId = 1L;
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(writeBehindBuffer.toggle(eq(commentId), eq("user@example.com"), eq(ReactionType.LIKE), any(Instant.class)))
+                .thenReturn(Optional.of(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.DISLIKE, true)));
+
+        // Act
+        ResponseEntity<Reaction> response = reactionService.createReaction(new ReactionRequest(commentId, ReactionType.LIKE));
+
+        // Assert
+        Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        Assertions.assertNotNull(response.getBody());
+        Assertions.assertNull(response.getBody().getId());
+        verify(boardEventPublisher).reactionChanged(3L, commentId, ReactionType.DISLIKE, ReactionType.LIKE);
+        verifyNoInteractions(reactionRepository, commentRepository, transactionManager);
+    }
+
+    @Test
+    public void testCreateReaction_WhenWriteBehindEnabledAndNothingChanges_ShouldNotModifyReaction() {
+        // Arrange
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(writeBehindBuffer.toggle(eq(1L), eq("user@example.com"), eq(ReactionType.LIKE), any(Instant.class)))
+                .thenReturn(Optional.of(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.LIKE, false)));
+        when(writeBehindBuffer.toggle(eq(2L), eq("user@example.com"), eq(ReactionType.LIKE), any(Instant.class)))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED,
+                reactionService.createReaction(new ReactionRequest(1L, ReactionType.LIKE)).getStatusCode());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND,
+                reactionService.createReaction(new ReactionRequest(2L, ReactionType.LIKE)).getStatusCode());
+        verifyNoInteractions(boardEventPublisher);
     }
-}
 
+    @Test
+    public void testDeleteReaction_WhenWriteBehindEnabled_ShouldFlushBeforeOpeningTransactionAndPublishAfterCommit() {
+        // Arrange
+        Reaction existingReaction = Reaction.builder()
+                .commentId(2L)
+                .reactionType(ReactionType.LIKE)
+                .authoredBy("user@example.com")
+                .build();
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(reactionRepository.findById(1L)).thenReturn(Optional.of(existingReaction));
+        when(commentRepository.findSessionIdById(2L)).thenReturn(Optional.of(3L));
+
+        // Act
+        reactionService.deleteReaction(1L);
+
+        // Assert
+        InOrder inOrder = inOrder(writeBehindBuffer, transactionManager, reactionRepository, boardEventPublisher);
+        inOrder.verify(writeBehindBuffer).flush();
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(reactionRepository).delete(existingReaction);
+        inOrder.verify(writeBehindBuffer).reactionDeleted(2L, "user@example.com");
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(boardEventPublisher).reactionChanged(3L, 2L, ReactionType.LIKE, null);
+        verify(commentRepository).adjustReactionCounts(2L, -1, 0);
+        verify(changeLog).reactionCleared(3L, 2L);
+    }
+
+    private static ReactionRepository.UpsertedReaction upserted(Long id, boolean inserted, Long sessionId) {
+        return new ReactionRepository.UpsertedReaction() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public boolean isInserted() {
+                return inserted;
+            }
+
+            @Override
+            public Long getSessionId() {
+                return sessionId;
+            }
+        };
+    }
+}
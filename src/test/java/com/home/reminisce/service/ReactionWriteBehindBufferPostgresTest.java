@@ -0,0 +1,147 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.EntityIdAllocator;
+import com.home.reminisce.repository.ReactionRepository;
+import com.home.reminisce.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Flushes the write-behind buffer into a real PostgreSQL, whose upsert H2 cannot execute. The
+ * flush commits in a transaction of its own, so the tests run outside the usual rolled-back one.
+ * Skipped where Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EntityIdAllocator.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ReactionWriteBehindBufferPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityIdAllocator idAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ReactionWriteBehindBuffer buffer;
+
+    private final Instant now = Instant.parse("2023-10-20T10:00:00Z");
+
+    private Long commentId;
+
+    @BeforeEach
+    public void setup() {
+        // a long interval keeps the scheduled flush out of the way; the tests flush by hand
+        buffer = new ReactionWriteBehindBuffer(reactionRepository, commentRepository, jdbcTemplate, idAllocator,
+                transactionManager, mock(BoardChangeLog.class), new SimpleMeterRegistry(), 60_000, 100, 3);
+        long sessionId = sessionRepository.save(Session.builder()
+                .name("Sprint 1")
+                .createdBy("author@example.com")
+                .createdOn(now)
+                .status(SessionStatus.IN_PROGRESS)
+                .build()).getId();
+        commentId = commentRepository.save(Comment.builder()
+                .sessionId(sessionId)
+                .authoredBy("author@example.com")
+                .createdOn(now)
+                .text("Good pace")
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void cleanup() throws InterruptedException {
+        buffer.shutdown();
+        reactionRepository.deleteAll();
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+    }
+
+    @Test
+    public void givenToggles_whenFlushed_thenRowsUpsertedAndCountersRecounted() {
+        buffer.toggle(commentId, "a@example.com", ReactionType.LIKE, now);
+        buffer.toggle(commentId, "b@example.com", ReactionType.LIKE, now);
+        buffer.flush();
+        buffer.toggle(commentId, "a@example.com", ReactionType.DISLIKE, now);
+        buffer.flush();
+
+        assertEquals(2, reactionRepository.findByCommentId(commentId).size());
+        assertCounts(1, 1);
+    }
+
+    @Test
+    public void givenViewBehindDatabase_whenFlushed_thenCountersMatchTheRows() {
+        buffer.toggle(commentId, "a@example.com", ReactionType.LIKE, now);
+        // written behind the view's back, e.g. by another instance
+        reactionRepository.save(Reaction.builder()
+                .commentId(commentId)
+                .authoredBy("b@example.com")
+                .reactionType(ReactionType.DISLIKE)
+                .createdOn(now)
+                .build());
+        jdbcTemplate.update("UPDATE comment SET like_count = 7 WHERE id = ?", commentId);
+
+        buffer.flush();
+
+        assertCounts(1, 1);
+    }
+
+    private void assertCounts(long likes, long dislikes) {
+        Comment comment = commentRepository.findById(commentId).orElseThrow();
+        assertEquals(likes, comment.getLikeCount());
+        assertEquals(dislikes, comment.getDislikeCount());
+    }
+}
@@ -0,0 +1,202 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.Reaction;
+import com.home.reminisce.model.ReactionType;
+import com.home.reminisce.repository.CommentRepository;
+import com.home.reminisce.repository.EntityIdAllocator;
+import com.home.reminisce.repository.ReactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactionWriteBehindBufferTest {
+
+    @Mock
+    private ReactionRepository reactionRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityIdAllocator idAllocator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReactionWriteBehindBuffer buffer;
+
+    private final Instant now = Instant.parse("2023-10-20T10:00:00Z");
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        // a long interval keeps the scheduled flush out of the way; the tests flush by hand
+        buffer = new ReactionWriteBehindBuffer(reactionRepository, commentRepository, jdbcTemplate, idAllocator, transactionManager,
+                changeLog, meterRegistry, 60_000, 100, 3);
+        lenient().when(commentRepository.findSessionIdById(1L)).thenReturn(Optional.of(3L));
+        lenient().when(reactionRepository.findByCommentId(1L)).thenReturn(List.of(
+                Reaction.builder().commentId(1L).authoredBy("c@example.com").reactionType(ReactionType.DISLIKE).build()));
+    }
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @Test
+    public void givenToggles_whenFlushed_thenOneRowPerUserWrittenAndCountersRecountedInOneBatch() {
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, null, true),
+                buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now).orElseThrow());
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.LIKE, true),
+                buffer.toggle(1L, "a@example.com", ReactionType.DISLIKE, now).orElseThrow());
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, null, true),
+                buffer.toggle(1L, "b@example.com", ReactionType.LIKE, now).orElseThrow());
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.DISLIKE, true),
+                buffer.toggle(1L, "c@example.com", ReactionType.LIKE, now).orElseThrow());
+        assertEquals(3, buffer.pendingCount());
+        verifyNoInteractions(jdbcTemplate);
+
+        buffer.flush();
+
+        List<Object[]> reactionRows = capturedRows("INSERT INTO reaction");
+        assertEquals(3, reactionRows.size());
+        assertEquals(List.of("a@example.com", "DISLIKE"), List.of(reactionRows.get(0)[2], reactionRows.get(0)[4]));
+        assertEquals(List.of("b@example.com", "LIKE"), List.of(reactionRows.get(1)[2], reactionRows.get(1)[4]));
+        assertEquals(List.of("c@example.com", "LIKE"), List.of(reactionRows.get(2)[2], reactionRows.get(2)[4]));
+        List<Object[]> countRows = capturedRows("UPDATE comment");
+        assertEquals(1, countRows.size());
+        assertArrayEquals(new Object[]{1L}, countRows.get(0));
+        verify(changeLog).reactionsSet(3L, List.of(1L, 1L, 1L));
+        assertEquals(0, buffer.pendingCount());
+        assertEquals(1, meterRegistry.get("reminisce.reactions.flush").timer().count());
+
+        buffer.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void givenSameTypeOrUnknownComment_whenToggled_thenNothingQueued() {
+        when(commentRepository.findSessionIdById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.DISLIKE, false),
+                buffer.toggle(1L, "c@example.com", ReactionType.DISLIKE, now).orElseThrow());
+        assertTrue(buffer.toggle(2L, "c@example.com", ReactionType.LIKE, now).isEmpty());
+
+        assertEquals(0, buffer.pendingCount());
+        buffer.flush();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void givenFailedFlush_whenFlushedAgain_thenBatchIsRetriedBehindNewerChanges() {
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO reaction"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now);
+
+        buffer.flush();
+
+        assertEquals(1, buffer.pendingCount());
+        assertEquals(1.0, meterRegistry.get("reminisce.reactions.flush.failures").counter().count());
+
+        // the view was kept, so the newer toggle sees the queued like without reading the database again
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.LIKE, true),
+                buffer.toggle(1L, "a@example.com", ReactionType.DISLIKE, now).orElseThrow());
+        buffer.flush();
+
+        List<Object[]> reactionRows = capturedRows("INSERT INTO reaction");
+        assertEquals(1, reactionRows.size());
+        assertEquals("DISLIKE", reactionRows.get(0)[4]);
+        assertArrayEquals(new Object[]{1L}, capturedRows("UPDATE comment").get(0));
+        verify(reactionRepository, times(1)).findByCommentId(1L);
+    }
+
+    @Test
+    public void givenFlushedComment_whenToggledAgain_thenViewIsReadAgain() {
+        buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now);
+        buffer.flush();
+
+        buffer.toggle(1L, "b@example.com", ReactionType.LIKE, now);
+
+        verify(reactionRepository, times(2)).findByCommentId(1L);
+        assertFalse(buffer.toggle(1L, "b@example.com", ReactionType.LIKE, now).orElseThrow().changed());
+    }
+
+    @Test
+    public void givenBatchFailingEveryAttempt_whenFlushed_thenDroppedAndCountedAndViewReadAgain() {
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO reaction"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now);
+
+        buffer.flush();
+        buffer.flush();
+        assertEquals(1, buffer.pendingCount());
+        buffer.flush();
+
+        assertEquals(0, buffer.pendingCount());
+        assertEquals(3.0, meterRegistry.get("reminisce.reactions.flush.failures").counter().count());
+        assertEquals(1.0, meterRegistry.get("reminisce.reactions.dropped").counter().count());
+        assertFalse(buffer.hasPendingChanges(3L));
+        // the dropped like never reached the database, so the view is read from it again
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, null, true),
+                buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now).orElseThrow());
+        verify(reactionRepository, times(2)).findByCommentId(1L);
+    }
+
+    @Test
+    public void givenDeletionInTransaction_whenCommitted_thenViewChangedOnlyAfterCommit() {
+        buffer.toggle(1L, "a@example.com", ReactionType.LIKE, now);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.reactionDeleted(1L, "c@example.com");
+
+            assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, ReactionType.DISLIKE, false),
+                    buffer.toggle(1L, "c@example.com", ReactionType.DISLIKE, now).orElseThrow());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(new ReactionWriteBehindBuffer.Toggle(3L, null, true),
+                buffer.toggle(1L, "c@example.com", ReactionType.DISLIKE, now).orElseThrow());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturedRows(String statementPrefix) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(startsWith(statementPrefix), rows.capture());
+        return rows.getValue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.repository.ParticipationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionMembershipIndexTest {
+
+    @Mock
+    private ParticipationRepository participationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SessionMembershipIndex membershipIndex;
+
+    private final Session session = Session.builder().id(1L).createdBy("creator@example.com").build();
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        membershipIndex = new SessionMembershipIndex(participationRepository, meterRegistry, 1000, 2, Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void testIsMember_whenUserIsCreator_thenTrueWithoutLoadingRoster() {
+        assertTrue(membershipIndex.isMember(session, "creator@example.com"));
+
+        verifyNoInteractions(participationRepository);
+    }
+
+    @Test
+    public void testIsMember_whenCalledRepeatedly_thenRosterLoadedOnce() {
+        when(participationRepository.findBySessionId(1L)).thenReturn(List.of(participation("user@example.com")));
+
+        assertTrue(membershipIndex.isMember(session, "user@example.com"));
+        assertTrue(membershipIndex.isMember(session, "user@example.com"));
+        assertFalse(membershipIndex.isMember(session, "stranger@example.com"));
+
+        verify(participationRepository, times(1)).findBySessionId(1L);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "session.members").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testIsMember_whenInvalidated_thenRosterReloaded() {
+        when(participationRepository.findBySessionId(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(participation("user@example.com")));
+
+        assertFalse(membershipIndex.isMember(session, "user@example.com"));
+        membershipIndex.invalidate(1L);
+
+        assertTrue(membershipIndex.isMember(session, "user@example.com"));
+        verify(participationRepository, times(2)).findBySessionId(1L);
+    }
+
+    @Test
+    public void testIsMember_whenRosterExceedsLimit_thenSingleRowLookup() {
+        when(participationRepository.findBySessionId(1L)).thenReturn(List.of(
+                participation("a@example.com"), participation("b@example.com"), participation("c@example.com")));
+        when(participationRepository.findBySessionIdAndParticipantName(1L, "b@example.com"))
+                .thenReturn(Optional.of(participation("b@example.com")));
+
+        assertTrue(membershipIndex.isMember(session, "b@example.com"));
+        assertTrue(membershipIndex.isMember(session, "b@example.com"));
+
+        verify(participationRepository, times(1)).findBySessionId(anyLong());
+        verify(participationRepository, times(2)).findBySessionIdAndParticipantName(1L, "b@example.com");
+        assertEquals(2.0, meterRegistry.get("reminisce.membership.oversized.lookups").counter().count());
+    }
+
+    private static Participation participation(String name) {
+        return Participation.builder().sessionId(1L).participantName(name).build();
+    }
+}
@@ -1,12 +1,25 @@
 package com.home.reminisce.service;
 
+import com.home.reminisce.api.model.BoardChanges;
+import com.home.reminisce.api.model.BoardComment;
+import com.home.reminisce.api.model.BoardDelta;
+import com.home.reminisce.api.model.BoardSnapshot;
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.PageCursor;
+import com.home.reminisce.api.model.SerializedBoard;
+import com.home.reminisce.api.model.SessionSummary;
 import com.home.reminisce.exceptions.UnauthorizedAccessException;
+import com.home.reminisce.model.BoardChange;
+import com.home.reminisce.model.BoardChangeType;
 import com.home.reminisce.model.Comment;
 import com.home.reminisce.model.Participation;
+import com.home.reminisce.model.ReactionType;
 import com.home.reminisce.model.Session;
 import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.repository.CommentRepository;
 import com.home.reminisce.repository.ParticipationRepository;
 import com.home.reminisce.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,17 +27,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +62,21 @@ class SessionServiceImplTest {
     @Mock
     private ParticipationRepository participationRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserSessionService userSessionService;
+
+    @Mock
+    private CompletedBoardCache completedBoards;
+
+    @Mock
+    private ReactionWriteBehindBuffer reactionBuffer;
+
+    @Mock
+    private BoardChangeLog changeLog;
+
     @InjectMocks
     private SessionServiceImpl sessionService;
 
@@ -57,7 +95,9 @@ class SessionServiceImplTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(authenticatedUser);
 
-        sessionService = new SessionServiceImpl(sessionRepository, participationRepository);
+        sessionService = new SessionServiceImpl(sessionRepository, participationRepository, commentRepository,
+                new SessionMembershipIndex(participationRepository, new SimpleMeterRegistry(), 1000, 100, Duration.ofMinutes(10)),
+                userSessionService, completedBoards, reactionBuffer, changeLog);
     }
 
     @Test
@@ -83,6 +123,141 @@ class SessionServiceImplTest {
         verify(sessionRepository, never()).save(session);
     }
 
+    @Test
+    public void givenCommentsReactedByUser_whenGetBoard_thenSnapshotCarriesOwnReactions() {
+        Session session = Session.builder().id(1L).name("Retro").createdBy(authenticatedUser).build();
+        BoardComment liked = new BoardComment(10L, 1L, "a@example.com", Instant.now(), "Liked", 1, 3, 0, ReactionType.LIKE);
+        BoardComment untouched = new BoardComment(11L, 1L, "b@example.com", Instant.now(), "Untouched", 1, 0, 1, null);
+
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(commentRepository.findBoardComments(1L, authenticatedUser)).thenReturn(List.of(liked, untouched));
+
+        BoardSnapshot board = sessionService.getBoard(1L);
+
+        assertEquals("Retro", board.name());
+        assertEquals(List.of(liked, untouched), board.comments());
+        verify(commentRepository, times(1)).findBoardComments(1L, authenticatedUser);
+    }
+
+    @Test
+    public void givenDuplicateOwnReactions_whenGetBoard_thenEachCommentAppearsOnce() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).build();
+        BoardComment first = new BoardComment(10L, 1L, "a@example.com", Instant.now(), "Text", 1, 1, 1, ReactionType.LIKE);
+        BoardComment duplicate = new BoardComment(10L, 1L, "a@example.com", Instant.now(), "Text", 1, 1, 1, ReactionType.DISLIKE);
+
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(commentRepository.findBoardComments(1L, authenticatedUser)).thenReturn(List.of(first, duplicate));
+
+        assertEquals(List.of(first), sessionService.getBoard(1L).comments());
+    }
+
+    @Test
+    public void givenInProgressSession_whenGetCompletedBoard_thenNothingIsCached() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).status(SessionStatus.IN_PROGRESS).build();
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+
+        assertTrue(sessionService.getCompletedBoard(1L).isEmpty());
+        verifyNoInteractions(completedBoards);
+    }
+
+    @Test
+    public void givenCompletedSessionWithPendingToggles_whenGetCompletedBoard_thenNothingIsCached() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).status(SessionStatus.COMPLETED).build();
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(reactionBuffer.hasPendingChanges(1L)).thenReturn(true);
+
+        assertTrue(sessionService.getCompletedBoard(1L).isEmpty());
+        verifyNoInteractions(completedBoards);
+    }
+
+    @Test
+    public void givenCompletedSession_whenGetCompletedBoard_thenViewersBoardIsServedFromCache() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).status(SessionStatus.COMPLETED).build();
+        SerializedBoard serialized = new SerializedBoard(new byte[0], new byte[0], "tag");
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(completedBoards.get(eq(1L), eq(authenticatedUser), any())).thenReturn(serialized);
+
+        assertEquals(Optional.of(serialized), sessionService.getCompletedBoard(1L));
+    }
+
+    @Test
+    public void givenGapBeforeFirstRetainedChange_whenGetChanges_thenFullSnapshotIsReturned() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).changeSeq(30L).build();
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(changeLog.retained()).thenReturn(500);
+        when(changeLog.changesAfter(1L, 5L, 501)).thenReturn(List.of(
+                BoardChange.builder().sessionId(1L).seq(20L).type(BoardChangeType.COMMENT_CREATED).commentId(10L).build()));
+
+        BoardChanges changes = sessionService.getChanges(1L, 5L);
+
+        assertEquals(30L, changes.seq());
+        assertEquals(30L, changes.snapshot().changeSeq());
+        assertTrue(changes.changes().isEmpty());
+    }
+
+    @Test
+    public void givenContiguousChanges_whenGetChanges_thenDeltasCarryTheCurrentComment() {
+        Session session = Session.builder().id(1L).createdBy(authenticatedUser).changeSeq(7L).build();
+        BoardComment comment = new BoardComment(10L, 1L, "a@example.com", Instant.now(), "Text", 1, 1, 0, ReactionType.LIKE);
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(changeLog.retained()).thenReturn(500);
+        when(changeLog.changesAfter(1L, 5L, 501)).thenReturn(List.of(
+                BoardChange.builder().sessionId(1L).seq(6L).type(BoardChangeType.REACTION_SET).commentId(10L).build(),
+                BoardChange.builder().sessionId(1L).seq(7L).type(BoardChangeType.PARTICIPANT_ADDED).participantName("b@example.com").build()));
+        when(commentRepository.findBoardCommentsByIdIn(1L, authenticatedUser, Set.of(10L))).thenReturn(List.of(comment));
+
+        BoardChanges changes = sessionService.getChanges(1L, 5L);
+
+        assertNull(changes.snapshot());
+        assertEquals(7L, changes.seq());
+        assertEquals(List.of(
+                new BoardDelta(6L, BoardChangeType.REACTION_SET, 10L, null, comment),
+                new BoardDelta(7L, BoardChangeType.PARTICIPANT_ADDED, null, "b@example.com", null)), changes.changes());
+    }
+
+    @Test
+    public void givenMoreSessionsThanPageSize_whenGetSessionsPage_thenNextCursorPointsAtLastItem() {
+        Instant now = Instant.now();
+        List<SessionSummary> rows = List.of(
+                new SessionSummary(3L, "Third", now, null, authenticatedUser, SessionStatus.IN_PROGRESS),
+                new SessionSummary(2L, "Second", now.minusSeconds(60), null, authenticatedUser, SessionStatus.COMPLETED),
+                new SessionSummary(1L, "First", now.minusSeconds(120), null, authenticatedUser, SessionStatus.COMPLETED));
+        when(sessionRepository.findFirstSessionsOf(authenticatedUser, PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPage<SessionSummary> page = sessionService.getSessionsPage(null, 2);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertEquals(new PageCursor(now.minusSeconds(60), 2L), PageCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void givenCursor_whenGetSessionsPage_thenSeeksPastItAndEndsWithoutCursor() {
+        Instant createdOn = Instant.parse("2023-10-01T10:15:30.123456Z");
+        String cursor = new PageCursor(createdOn, 2L).encode();
+        List<SessionSummary> rows = List.of(
+                new SessionSummary(1L, "First", createdOn.minusSeconds(60), null, authenticatedUser, SessionStatus.COMPLETED));
+        when(sessionRepository.findSessionsOfBefore(authenticatedUser, createdOn, 2L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPage<SessionSummary> page = sessionService.getSessionsPage(cursor, 2);
+
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+        verify(sessionRepository, never()).findFirstSessionsOf(anyString(), any());
+    }
+
+    @Test
+    public void givenMalformedCursor_whenGetSessionsPage_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> sessionService.getSessionsPage("not a cursor", 20));
+    }
+
+    @Test
+    public void givenCursorWithOutOfRangeTimestamp_whenGetSessionsPage_thenThrowIllegalArgumentException() {
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Long.MAX_VALUE + ":0:1").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> sessionService.getSessionsPage(tampered, 20));
+    }
+
     @Test
     public void testDeleteSession_ValidSessionIdAndAuthorizedUser_ShouldDeleteComment() {
         Long sessionId = 1L;
@@ -97,6 +272,7 @@ class SessionServiceImplTest {
 
         verify(sessionRepository, times(1)).findById(sessionId);
         verify(sessionRepository, times(1)).delete(session);
+        verify(userSessionService, times(1)).sessionDeleted(sessionId);
     }
 
     @Test
@@ -105,8 +281,7 @@ class SessionServiceImplTest {
         Participation participation = Participation.builder().participantName("another_user@example.com").build();
 
         when(sessionRepository.findById(anyLong())).thenReturn(Optional.of(session));
-        when(participationRepository.findBySessionIdAndParticipantName(anyLong(), anyString()))
-                .thenReturn(Optional.empty());
+        when(participationRepository.findBySessionId(anyLong())).thenReturn(List.of(participation));
 
         assertThrows(UnauthorizedAccessException.class, () -> sessionService.findById(session.getId()));
         verify(sessionRepository, times(1)).findById(session.getId());
@@ -0,0 +1,144 @@
+package com.home.reminisce.service;
+
+import com.home.reminisce.api.model.CursorPage;
+import com.home.reminisce.api.model.DashboardEntry;
+import com.home.reminisce.api.model.PageCursor;
+import com.home.reminisce.model.Comment;
+import com.home.reminisce.model.Session;
+import com.home.reminisce.model.SessionActivity;
+import com.home.reminisce.model.SessionRole;
+import com.home.reminisce.model.SessionStatus;
+import com.home.reminisce.model.UserSession;
+import com.home.reminisce.repository.ParticipationRepository;
+import com.home.reminisce.repository.SessionActivityRepository;
+import com.home.reminisce.repository.UserSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSessionServiceImplTest {
+
+    @Mock
+    private UserSessionRepository userSessionRepository;
+
+    @Mock
+    private ParticipationRepository participationRepository;
+
+    @Mock
+    private SessionActivityRepository sessionActivityRepository;
+
+    private UserSessionService userSessionService;
+
+    @BeforeEach
+    public void setup() {
+        userSessionService = new UserSessionServiceImpl(userSessionRepository, sessionActivityRepository,
+                participationRepository);
+    }
+
+    @Test
+    public void givenNewSession_whenSessionCreated_thenCreatorRowAndActivitySaved() {
+        Instant createdOn = Instant.now();
+        Session session = Session.builder().id(1L).createdBy("creator@example.com").createdOn(createdOn)
+                .comments(List.of(Comment.builder().text("Enjoy your retro").build())).build();
+
+        userSessionService.sessionCreated(session);
+
+        ArgumentCaptor<UserSession> saved = ArgumentCaptor.forClass(UserSession.class);
+        verify(userSessionRepository).save(saved.capture());
+        assertEquals("creator@example.com", saved.getValue().getUserName());
+        assertEquals(SessionRole.CREATOR, saved.getValue().getRole());
+        ArgumentCaptor<SessionActivity> activity = ArgumentCaptor.forClass(SessionActivity.class);
+        verify(sessionActivityRepository).save(activity.capture());
+        assertEquals(1L, activity.getValue().getSessionId());
+        assertEquals(createdOn, activity.getValue().getLastActivityAt());
+        assertEquals(1, activity.getValue().getCommentCount());
+    }
+
+    @Test
+    public void givenExistingMember_whenParticipantsAdded_thenOnlyNewMembersInsertedAndCountsRefreshed() {
+        when(participationRepository.countBySessionId(1L)).thenReturn(2L);
+        when(userSessionRepository.findUserNamesBySessionIdAndUserNameIn(eq(1L), any()))
+                .thenReturn(List.of("creator@example.com"));
+
+        userSessionService.participantsAdded(1L, List.of("creator@example.com", "new@example.com"));
+
+        verify(sessionActivityRepository).updateParticipantCount(eq(1L), eq(2L), any(Instant.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserSession>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userSessionRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        UserSession member = saved.getValue().get(0);
+        assertEquals("new@example.com", member.getUserName());
+        assertEquals(SessionRole.PARTICIPANT, member.getRole());
+    }
+
+    @Test
+    public void givenOnlyExistingMembers_whenParticipantsAdded_thenNothingInserted() {
+        when(userSessionRepository.findUserNamesBySessionIdAndUserNameIn(eq(1L), any()))
+                .thenReturn(List.of("creator@example.com"));
+
+        userSessionService.participantsAdded(1L, List.of("creator@example.com"));
+
+        verify(userSessionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void givenParticipantsRemoved_thenOnlyParticipantRowsDeleted() {
+        when(participationRepository.countBySessionId(1L)).thenReturn(0L);
+
+        userSessionService.participantsRemoved(1L, Set.of("old@example.com"));
+
+        verify(userSessionRepository).deleteMembers(1L, SessionRole.PARTICIPANT, Set.of("old@example.com"));
+        verify(sessionActivityRepository).updateParticipantCount(eq(1L), eq(0L), any(Instant.class));
+    }
+
+    @Test
+    public void givenCommentWrites_thenOnlyTheSessionActivityRowIsUpdated() {
+        userSessionService.commentAdded(1L);
+        userSessionService.commentUpdated(1L);
+        userSessionService.commentRemoved(1L);
+
+        verify(sessionActivityRepository).adjustCommentCount(eq(1L), eq(1L), any(Instant.class));
+        verify(sessionActivityRepository).touch(eq(1L), any(Instant.class));
+        verify(sessionActivityRepository).adjustCommentCount(eq(1L), eq(-1L), any(Instant.class));
+        verifyNoInteractions(userSessionRepository);
+    }
+
+    @Test
+    public void givenCursor_whenGetDashboard_thenSeeksByLastActivity() {
+        SecurityContext securityContext = mock(SecurityContext.class);
+        Authentication authentication = mock(Authentication.class);
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("user@example.com");
+        Instant lastActivity = Instant.parse("2023-10-01T10:15:30Z");
+        DashboardEntry entry = new DashboardEntry(3L, "Retro", SessionStatus.COMPLETED, lastActivity.minusSeconds(600),
+                SessionRole.PARTICIPANT, lastActivity.minusSeconds(60), 4, 2);
+        when(userSessionRepository.findDashboardEntriesBefore("user@example.com", lastActivity, 7L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(entry));
+
+        CursorPage<DashboardEntry> page = userSessionService.getDashboard(new PageCursor(lastActivity, 7L).encode(), 10);
+
+        assertEquals(List.of(entry), page.items());
+        assertNull(page.nextCursor());
+        SecurityContextHolder.clearContext();
+    }
+}